@@ -0,0 +1,262 @@
+package org.translation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A BK-tree over names, used to find all names within a small Levenshtein distance of a query.
+ * Names are compared case-insensitively, code point by code point. Because the edit distance is
+ * a metric, a search only visits the children whose edge lies within the allowed distance of the
+ * query's distance to their parent, so a lookup for a small distance only touches a small part of the tree.
+ * A tree is filled by a {@link Builder} and can't be changed once built, so it can be shared and searched
+ * from several threads.
+ *
+ * @param <V> the type of the value associated with each name, for example a country code
+ */
+public class BKTree<V> {
+
+    private final Node<V> root;
+    private final int size;
+
+    private BKTree(Node<V> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns how many distinct names are in the tree.
+     *
+     * @return how many distinct names are in the tree
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns all names within the given edit distance of the query, closest first.
+     * Matches at the same distance are ordered by name.
+     *
+     * @param query the name to look up
+     * @param maxDistance the largest number of insertions, deletions and substitutions allowed
+     * @return the matching names, closest first; empty if there is none
+     */
+    public List<Match<V>> search(String query, int maxDistance) {
+        List<Match<V>> matches = new ArrayList<>();
+        if (root == null) {
+            return matches;
+        }
+        int[] key = normalize(query);
+        Deque<Node<V>> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node<V> node = pending.pop();
+            int distance = distance(node.key, key);
+            if (distance <= maxDistance) {
+                matches.add(new Match<>(node.name, node.value, distance));
+            }
+            int low = Math.max(1, distance - maxDistance);
+            int high = Math.min(node.children.length - 1, distance + maxDistance);
+            for (int edge = low; edge <= high; edge++) {
+                if (node.children[edge] != null) {
+                    pending.push(node.children[edge]);
+                }
+            }
+        }
+        matches.sort(Comparator.<Match<V>>comparingInt(Match::getDistance).thenComparing(Match::getName));
+        return matches;
+    }
+
+    /**
+     * Returns the closest name within the given edit distance of the query.
+     *
+     * @param query the name to look up
+     * @param maxDistance the largest number of insertions, deletions and substitutions allowed
+     * @return the closest match or null if no name is close enough
+     */
+    public Match<V> closest(String query, int maxDistance) {
+        List<Match<V>> matches = search(query, maxDistance);
+        if (matches.isEmpty()) {
+            return null;
+        }
+        return matches.get(0);
+    }
+
+    /**
+     * Converts a name to the lowercase code points it is compared by.
+     *
+     * @param name the name
+     * @return the code points of the name, lowercased
+     */
+    private static int[] normalize(String name) {
+        return name.trim().codePoints().map(Character::toLowerCase).toArray();
+    }
+
+    /**
+     * Computes the Levenshtein distance between two code point sequences.
+     *
+     * @param first the first sequence
+     * @param second the second sequence
+     * @return the minimal number of insertions, deletions and substitutions turning one into the other
+     */
+    static int distance(int[] first, int[] second) {
+        int[] previous = new int[second.length + 1];
+        int[] current = new int[second.length + 1];
+        for (int j = 0; j <= second.length; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length; i++) {
+            current[0] = i;
+            for (int j = 1; j <= second.length; j++) {
+                int cost = 1;
+                if (first[i - 1] == second[j - 1]) {
+                    cost = 0;
+                }
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[second.length];
+    }
+
+    /**
+     * Collects the names of a tree. Not safe for use by several threads.
+     *
+     * @param <V> the type of the value associated with each name
+     */
+    public static final class Builder<V> {
+        private Node<V> root;
+        private int size;
+
+        /**
+         * Adds a name to the tree. If the same name (ignoring case) was already added, the call is ignored
+         * and the name keeps its first value.
+         *
+         * @param name the name to add
+         * @param value the value associated with the name
+         * @return this builder
+         */
+        public Builder<V> add(String name, V value) {
+            int[] key = normalize(name);
+            if (root == null) {
+                root = new Node<>(name, key, value);
+                size++;
+                return this;
+            }
+            Node<V> node = root;
+            while (true) {
+                int distance = distance(node.key, key);
+                if (distance == 0) {
+                    return this;
+                }
+                Node<V> child = node.child(distance);
+                if (child == null) {
+                    node.setChild(distance, new Node<>(name, key, value));
+                    size++;
+                    return this;
+                }
+                node = child;
+            }
+        }
+
+        /**
+         * Returns the tree of every name added so far. The builder is empty afterwards, so later
+         * additions don't change the tree.
+         *
+         * @return the tree
+         */
+        public BKTree<V> build() {
+            BKTree<V> tree = new BKTree<>(root, size);
+            root = null;
+            size = 0;
+            return tree;
+        }
+    }
+
+    /**
+     * A node of the tree. Its children are indexed by their distance to this node.
+     *
+     * @param <V> the type of the value
+     */
+    private static final class Node<V> {
+        private final String name;
+        private final int[] key;
+        private final V value;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Node<V>[] children = new Node[0];
+
+        Node(String name, int[] key, V value) {
+            this.name = name;
+            this.key = key;
+            this.value = value;
+        }
+
+        Node<V> child(int distance) {
+            if (distance < children.length) {
+                return children[distance];
+            }
+            return null;
+        }
+
+        void setChild(int distance, Node<V> child) {
+            if (distance >= children.length) {
+                children = Arrays.copyOf(children, distance + 1);
+            }
+            children[distance] = child;
+        }
+    }
+
+    /**
+     * A name found by a search, together with its value and its distance to the query.
+     *
+     * @param <V> the type of the value
+     */
+    public static final class Match<V> {
+        private final String name;
+        private final V value;
+        private final int distance;
+
+        Match(String name, V value, int distance) {
+            this.name = name;
+            this.value = value;
+            this.distance = distance;
+        }
+
+        /**
+         * Returns the name as it was added to the tree.
+         *
+         * @return the matching name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the value associated with the name.
+         *
+         * @return the value of the matching name
+         */
+        public V getValue() {
+            return value;
+        }
+
+        /**
+         * Returns the edit distance between the name and the query.
+         *
+         * @return the edit distance to the query
+         */
+        public int getDistance() {
+            return distance;
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + distance + ")";
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.translation;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable two-way mapping between names and codes, parsed from a tab separated file such as
+ * country-codes.txt or language-codes.txt. Instances are shared through the {@link DatasetRegistry}.
+ */
+final class CodeTable {
+
+    private final Map<String, String> codeToName;
+    private final Map<String, String> nameToCode;
+    private BKTree<String> nameIndex;
+
+    private CodeTable(Map<String, String> codeToName, Map<String, String> nameToCode) {
+        this.codeToName = Map.copyOf(codeToName);
+        this.nameToCode = Map.copyOf(nameToCode);
+    }
+
+    /**
+     * Parses the content of a tab separated file whose first line is a header and whose first
+     * column holds the name.
+     *
+     * @param content the content of the file
+     * @param codeColumn the column holding the code
+     * @param minimumColumns lines with fewer columns are skipped
+     * @return the parsed table
+     */
+    static CodeTable parse(String content, int codeColumn, int minimumColumns) {
+        Map<String, String> codeToName = new HashMap<>();
+        Map<String, String> nameToCode = new HashMap<>();
+
+        // Skip the header line if present
+        boolean isFirstLine = true;
+        for (String line : content.split("\\R")) {
+            if (isFirstLine) {
+                isFirstLine = false;
+                continue;
+            }
+            String[] parts = line.split("\t");
+            if (parts.length >= minimumColumns) {
+                String name = parts[0].trim();
+                String code = parts[codeColumn].trim().toLowerCase();
+                codeToName.put(code, name);
+                nameToCode.put(name.toLowerCase(), code);
+            }
+        }
+        return new CodeTable(codeToName, nameToCode);
+    }
+
+    /**
+     * Returns the name for the given lowercase code.
+     *
+     * @param code the code
+     * @return the name or null if the code is unknown
+     */
+    String nameOf(String code) {
+        return codeToName.get(code);
+    }
+
+    /**
+     * Returns the code for the given lowercase name.
+     *
+     * @param name the name
+     * @return the code or null if the name is unknown
+     */
+    String codeOf(String name) {
+        return nameToCode.get(name);
+    }
+
+    /**
+     * Returns how many codes are in the table.
+     *
+     * @return how many codes are in the table
+     */
+    int size() {
+        return codeToName.size();
+    }
+
+    /**
+     * Calls the action for every code and its name.
+     *
+     * @param action receives each code and its name
+     */
+    void forEach(BiConsumer<String, String> action) {
+        codeToName.forEach(action);
+    }
+
+    /**
+     * Returns a fuzzy index from every name of the table to its code, built on first use.
+     *
+     * @return the index of names
+     */
+    synchronized BKTree<String> getNameIndex() {
+        if (nameIndex == null) {
+            BKTree.Builder<String> index = new BKTree.Builder<>();
+            for (Map.Entry<String, String> entry : codeToName.entrySet()) {
+                index.add(entry.getValue(), entry.getKey());
+            }
+            nameIndex = index.build();
+        }
+        return nameIndex;
+    }
+}
@@ -1,22 +1,19 @@
 package org.translation;
 
-import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.function.BiConsumer;
 
 /**
  * This class provides the service of converting country codes to their names.
  */
 public class CountryCodeConverter {
 
+    static final String DATASET_KIND = "country-codes";
+
     private static final int EXPECTED_PARTS_LENGTH = 4;
+    private static final int ALPHA3_COLUMN = 2;
 
-    private final Map<String, String> codeToCountryMap = new HashMap<>();
-    private final Map<String, String> countryToCodeMap = new HashMap<>();
+    private final CodeTable table;
 
     /**
      * Default constructor which will load the country codes from "country-codes.txt"
@@ -33,31 +30,10 @@ public class CountryCodeConverter {
      * @throws RuntimeException if the resource file can't be loaded properly
      */
     public CountryCodeConverter(String filename) {
-
-        try {
-            List<String> lines = Files.readAllLines(Paths.get(getClass()
-                    .getClassLoader().getResource(filename).toURI()));
-
-            // Skip the header line if present
-            boolean isFirstLine = true;
-            for (String line : lines) {
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    continue;
-                }
-                String[] parts = line.split("\t");
-                if (parts.length >= EXPECTED_PARTS_LENGTH) {
-                    String country = parts[0].trim();
-                    String alpha3Code = parts[2].trim().toLowerCase();
-                    codeToCountryMap.put(alpha3Code, country);
-                    countryToCodeMap.put(country.toLowerCase(), alpha3Code);
-                }
-            }
-
-        }
-        catch (IOException | URISyntaxException ex) {
-            throw new RuntimeException(ex);
-        }
+        DatasetRegistry.Lease<CodeTable> lease = DatasetRegistry.getInstance().acquire(DATASET_KIND, filename,
+                content -> CodeTable.parse(content, ALPHA3_COLUMN, EXPECTED_PARTS_LENGTH));
+        this.table = lease.get();
+        DatasetRegistry.releaseWhenUnreachable(this, lease);
     }
 
     /**
@@ -67,7 +43,11 @@ public class CountryCodeConverter {
      * @return the name of the country corresponding to the code
      */
     public String fromCountryCode(String code) {
-        return codeToCountryMap.getOrDefault(code.toLowerCase(), "Unknown code");
+        String name = table.nameOf(code.toLowerCase());
+        if (name == null) {
+            return "Unknown code";
+        }
+        return name;
     }
 
     /**
@@ -77,7 +57,11 @@ public class CountryCodeConverter {
      * @return the 3-letter code of the country
      */
     public String fromCountry(String country) {
-        return countryToCodeMap.getOrDefault(country.toLowerCase(), "Unknown country");
+        String code = table.codeOf(country.toLowerCase());
+        if (code == null) {
+            return "Unknown country";
+        }
+        return code;
     }
 
     /**
@@ -86,6 +70,37 @@ public class CountryCodeConverter {
      * @return how many countries are included in this code converter.
      */
     public int getNumCountries() {
-        return codeToCountryMap.size();
+        return table.size();
+    }
+
+    /**
+     * Calls the action for every country of this converter.
+     *
+     * @param action receives the 3-letter code and the name of each country
+     */
+    public void forEachCountry(BiConsumer<String, String> action) {
+        table.forEach(action);
+    }
+
+    /**
+     * Returns a fuzzy index from every country name of this converter to its code, built on first use.
+     * The index is shared by all converters loaded from the same file; it is immutable and thread-safe.
+     *
+     * @return the index of country names
+     */
+    public BKTree<String> getNameIndex() {
+        return table.getNameIndex();
+    }
+
+    /**
+     * Returns the countries whose name is within the given edit distance of the given name, closest first.
+     * This lets callers recover from typos such as "Canda".
+     *
+     * @param country the name of the country, possibly misspelled
+     * @param maxDistance the largest number of typos (insertions, deletions and substitutions) allowed
+     * @return the matching names with their codes, closest first
+     */
+    public List<BKTree.Match<String>> suggestCountries(String country, int maxDistance) {
+        return getNameIndex().search(country, maxDistance);
     }
 }
@@ -0,0 +1,68 @@
+package org.translation;
+
+/**
+ * An occurrence of a country name in a text, as found by a {@link CountryMentionMatcher}.
+ */
+public final class CountryMention {
+
+    private final long start;
+    private final long end;
+    private final String text;
+    private final String country;
+
+    /**
+     * Constructs a mention.
+     *
+     * @param start the offset of the first char of the mention
+     * @param end the offset after the last char of the mention
+     * @param text the text of the mention, as it appears in the input
+     * @param country the 3-letter code of the mentioned country
+     */
+    public CountryMention(long start, long end, String text, String country) {
+        this.start = start;
+        this.end = end;
+        this.text = text;
+        this.country = country;
+    }
+
+    /**
+     * Returns the offset, in chars from the beginning of the input, of the first char of the mention.
+     *
+     * @return the start offset, inclusive
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the offset, in chars from the beginning of the input, after the last char of the mention.
+     *
+     * @return the end offset, exclusive
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    /**
+     * Returns the text of the mention as it appears in the input.
+     *
+     * @return the mentioned name
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Returns the 3-letter code of the mentioned country.
+     *
+     * @return the alpha3 country code
+     */
+    public String getCountry() {
+        return country;
+    }
+
+    @Override
+    public String toString() {
+        return text + " [" + start + ", " + end + ") " + country;
+    }
+}
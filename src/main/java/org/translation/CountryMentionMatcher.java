@@ -0,0 +1,494 @@
+package org.translation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Finds the country names of a {@link Translator} (in all of its languages) and of a
+ * {@link CountryCodeConverter} in free text, and can rewrite them into another language.
+ * All names are compiled into one Aho-Corasick automaton, so the text is scanned once, code point by
+ * code point, whatever the number of names. Matching ignores case (using simple Unicode case folding)
+ * and treats every whitespace char alike. A name only matches as a whole word: it may not be directly
+ * preceded or followed by a letter or digit, except in scripts written without spaces between words
+ * such as Chinese or Japanese. Where mentions overlap, the one starting first wins, and among those
+ * the longest, so "Guinea-Bissau" is one mention rather than "Guinea" followed by text.
+ */
+public class CountryMentionMatcher {
+
+    private static final int ROOT = 0;
+    private static final int NO_CODE_POINT = -1;
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final int FLUSH_THRESHOLD = 4096;
+
+    private final Translator translator;
+
+    // The automaton: for each node its sorted transitions, failure link, nearest accepting node on its
+    // failure chain, depth in code points and, for accepting nodes, the country code
+    private final int[][] transitionKeys;
+    private final int[][] transitionTargets;
+    private final int[] failure;
+    private final int[] dictionary;
+    private final int[] depth;
+    private final String[] codes;
+    private final int maxDepth;
+
+    /**
+     * Constructs a matcher for the names of all countries of the translator in every language, and the
+     * English names of the converter. When the same name belongs to several countries, the translator wins.
+     *
+     * @param translator the translator providing translated names, also used for rewriting
+     * @param countryCodeConverter the converter providing the English names
+     */
+    public CountryMentionMatcher(Translator translator, CountryCodeConverter countryCodeConverter) {
+        this.translator = translator;
+
+        TrieBuilder builder = new TrieBuilder();
+        translator.forEachTranslation((country, language, name) -> {
+            if (name != null) {
+                builder.add(name, country);
+            }
+        });
+        countryCodeConverter.forEachCountry((code, name) -> builder.add(name, code));
+
+        int size = builder.children.size();
+        this.transitionKeys = new int[size][];
+        this.transitionTargets = new int[size][];
+        this.failure = new int[size];
+        this.dictionary = new int[size];
+        this.depth = builder.depths.stream().mapToInt(Integer::intValue).toArray();
+        this.codes = builder.codes.toArray(new String[0]);
+        this.maxDepth = Arrays.stream(depth).max().orElse(0);
+        for (int node = 0; node < size; node++) {
+            Map<Integer, Integer> children = builder.children.get(node);
+            int[] keys = children.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            int[] targets = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                targets[i] = children.get(keys[i]);
+            }
+            transitionKeys[node] = keys;
+            transitionTargets[node] = targets;
+        }
+        linkFailures();
+    }
+
+    /**
+     * Returns every mention in the text.
+     *
+     * @param text the text to search
+     * @return the mentions, in the order they appear in the text
+     */
+    public List<CountryMention> findAll(CharSequence text) {
+        List<CountryMention> mentions = new ArrayList<>();
+        try {
+            scan(new StringReader(text.toString()), mentions::add);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return mentions;
+    }
+
+    /**
+     * Reads the whole input and passes every mention to the consumer as soon as it is certain.
+     * Only a window as long as the longest name is kept, so the input may be arbitrarily large.
+     *
+     * @param reader the input, which is not closed
+     * @param consumer receives the mentions, in the order they appear in the input
+     * @throws IOException if the input can't be read
+     */
+    public void scan(Reader reader, Consumer<CountryMention> consumer) throws IOException {
+        Scan scan = new Scan(consumer);
+        char[] buffer = new char[READ_BUFFER_SIZE];
+        int read = reader.read(buffer);
+        while (read >= 0) {
+            for (int i = 0; i < read; i++) {
+                scan.accept(buffer[i]);
+            }
+            read = reader.read(buffer);
+        }
+        scan.finish();
+    }
+
+    /**
+     * Returns the text with every mention replaced by the name of the country in the given language.
+     * Mentions of countries without a translation in that language are left as they are.
+     *
+     * @param text the text to rewrite
+     * @param language the language code to translate the mentions to
+     * @return the rewritten text
+     */
+    public String rewrite(CharSequence text, String language) {
+        StringWriter writer = new StringWriter(text.length());
+        try {
+            rewrite(new StringReader(text.toString()), writer, language);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Copies the input to the output, replacing every mention by the name of the country in the given
+     * language. Mentions of countries without a translation in that language are copied as they are.
+     * Only a window as long as the longest name is kept, so the input may be arbitrarily large.
+     *
+     * @param reader the input, which is not closed
+     * @param writer the output, which is neither flushed nor closed
+     * @param language the language code to translate the mentions to
+     * @throws IOException if the input can't be read or the output can't be written
+     */
+    public void rewrite(Reader reader, Writer writer, String language) throws IOException {
+        Rewriter rewriter = new Rewriter(writer, language);
+        Scan scan = new Scan(rewriter);
+        char[] buffer = new char[READ_BUFFER_SIZE];
+        int read = reader.read(buffer);
+        while (read >= 0) {
+            for (int i = 0; i < read; i++) {
+                rewriter.pending.append(buffer[i]);
+                scan.accept(buffer[i]);
+                rewriter.check();
+                if (rewriter.pending.length() > FLUSH_THRESHOLD) {
+                    rewriter.flushTo(scan.safeOffset());
+                }
+            }
+            read = reader.read(buffer);
+        }
+        scan.finish();
+        rewriter.check();
+        rewriter.flushTo(rewriter.pendingStart + rewriter.pending.length());
+    }
+
+    /**
+     * Maps a code point to the form it is matched by: whitespace to a space, everything else to its
+     * simple case fold, which never changes the number of code points.
+     *
+     * @param codePoint the code point
+     * @return the folded code point
+     */
+    private static int fold(int codePoint) {
+        if (Character.isWhitespace(codePoint) || Character.isSpaceChar(codePoint)) {
+            return ' ';
+        }
+        return Character.toLowerCase(Character.toUpperCase(codePoint));
+    }
+
+    /**
+     * Tells whether a code point is part of a word which must not be split by a match.
+     *
+     * @param codePoint the code point
+     * @return true if the code point is a letter or digit of a script that separates words
+     */
+    private static boolean isWordChar(int codePoint) {
+        if (!Character.isLetterOrDigit(codePoint)) {
+            return false;
+        }
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script != Character.UnicodeScript.HAN && script != Character.UnicodeScript.HIRAGANA
+                && script != Character.UnicodeScript.KATAKANA && script != Character.UnicodeScript.THAI;
+    }
+
+    private static boolean isBoundary(int before, int after) {
+        return before == NO_CODE_POINT || after == NO_CODE_POINT || !isWordChar(before) || !isWordChar(after);
+    }
+
+    private int child(int node, int codePoint) {
+        int index = Arrays.binarySearch(transitionKeys[node], codePoint);
+        if (index < 0) {
+            return -1;
+        }
+        return transitionTargets[node][index];
+    }
+
+    private int next(int node, int codePoint) {
+        int current = node;
+        while (true) {
+            int target = child(current, codePoint);
+            if (target >= 0) {
+                return target;
+            }
+            if (current == ROOT) {
+                return ROOT;
+            }
+            current = failure[current];
+        }
+    }
+
+    /**
+     * Computes the failure and dictionary links breadth first, so that the links of shallower nodes
+     * are known before they are needed.
+     */
+    private void linkFailures() {
+        Deque<Integer> queue = new ArrayDeque<>();
+        dictionary[ROOT] = -1;
+        for (int target : transitionTargets[ROOT]) {
+            failure[target] = ROOT;
+            dictionary[target] = -1;
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < transitionKeys[node].length; i++) {
+                int target = transitionTargets[node][i];
+                int fallback = next(failure[node], transitionKeys[node][i]);
+                failure[target] = fallback;
+                if (codes[fallback] != null) {
+                    dictionary[target] = fallback;
+                }
+                else {
+                    dictionary[target] = dictionary[fallback];
+                }
+                queue.add(target);
+            }
+        }
+    }
+
+    /**
+     * Collects the trie of all names before it is compiled into arrays.
+     */
+    private static final class TrieBuilder {
+        private final List<Map<Integer, Integer>> children = new ArrayList<>();
+        private final List<Integer> depths = new ArrayList<>();
+        private final List<String> codes = new ArrayList<>();
+
+        TrieBuilder() {
+            newNode(0);
+        }
+
+        void add(String name, String code) {
+            int[] key = name.trim().codePoints().map(CountryMentionMatcher::fold).toArray();
+            if (key.length == 0) {
+                return;
+            }
+            int node = ROOT;
+            for (int codePoint : key) {
+                Integer target = children.get(node).get(codePoint);
+                if (target == null) {
+                    target = newNode(depths.get(node) + 1);
+                    children.get(node).put(codePoint, target);
+                }
+                node = target;
+            }
+            if (codes.get(node) == null) {
+                codes.set(node, code.toLowerCase());
+            }
+        }
+
+        private int newNode(int nodeDepth) {
+            children.add(new HashMap<>());
+            depths.add(nodeDepth);
+            codes.add(null);
+            return children.size() - 1;
+        }
+    }
+
+    /**
+     * The state of one pass over an input. Code points are numbered from zero; the last few of them and
+     * their char offsets are kept in ring buffers long enough to hold the longest name plus one code
+     * point on each side for the word boundary checks.
+     * Matches ending at a code point are only examined once the following code point is known. The
+     * longest match found so far is kept for every start position in the window, and a start position
+     * is only decided once no partial match starting at or before it is still alive; start positions are
+     * decided in order, each exactly once, so the input is never scanned again.
+     */
+    private final class Scan {
+        private final Consumer<CountryMention> consumer;
+        private final int[] codePoints = new int[maxDepth + 2];
+        private final long[] offsets = new long[maxDepth + 2];
+        // By start position: the end of the longest match starting there (0 for none) and its country
+        private final long[] longestEnds = new long[maxDepth + 2];
+        private final String[] longestCodes = new String[maxDepth + 2];
+        private long count;
+        private long nextOffset;
+        private int state = ROOT;
+        private char highSurrogate;
+        // The first start position not decided yet; earlier ones were reported or can't start a mention
+        private long undecided;
+
+        Scan(Consumer<CountryMention> consumer) {
+            this.consumer = consumer;
+        }
+
+        void accept(char c) {
+            if (highSurrogate != 0) {
+                char high = highSurrogate;
+                highSurrogate = 0;
+                if (Character.isLowSurrogate(c)) {
+                    accept(Character.toCodePoint(high, c), 2);
+                    return;
+                }
+                accept(high, 1);
+            }
+            if (Character.isHighSurrogate(c)) {
+                highSurrogate = c;
+            }
+            else {
+                accept(c, 1);
+            }
+        }
+
+        void finish() {
+            if (highSurrogate != 0) {
+                accept(highSurrogate, 1);
+                highSurrogate = 0;
+            }
+            examine(NO_CODE_POINT);
+            decide(count);
+        }
+
+        /**
+         * Returns the offset before which no mention can be reported any more.
+         *
+         * @return the offset of the earliest char which may still be part of a mention
+         */
+        long safeOffset() {
+            if (undecided >= count) {
+                return nextOffset;
+            }
+            return offsets[slot(undecided)];
+        }
+
+        private void accept(int codePoint, int length) {
+            examine(codePoint);
+            codePoints[slot(count)] = codePoint;
+            offsets[slot(count)] = nextOffset;
+            count++;
+            nextOffset += length;
+            state = next(state, fold(codePoint));
+            decide(count - depth[state]);
+        }
+
+        /**
+         * Records the matches ending at the last code point, now that the one after it is known.
+         *
+         * @param following the code point after the last one, or NO_CODE_POINT at the end of the input
+         */
+        private void examine(int following) {
+            int node = state;
+            if (codes[node] == null) {
+                node = dictionary[node];
+            }
+            long last = count - 1;
+            while (node > 0) {
+                long start = count - depth[node];
+                int slot = slot(start);
+                if (start >= undecided && count > longestEnds[slot]
+                        && isBoundary(before(start), codePoints[slot])
+                        && isBoundary(codePoints[slot(last)], following)) {
+                    longestEnds[slot] = count;
+                    longestCodes[slot] = codes[node];
+                }
+                node = dictionary[node];
+            }
+        }
+
+        /**
+         * Decides the start positions before the bound in order, reporting the longest match at each one
+         * that doesn't overlap an earlier mention.
+         *
+         * @param bound the index of the first code point of the longest partial match still alive
+         */
+        private void decide(long bound) {
+            while (undecided < bound) {
+                int slot = slot(undecided);
+                long end = longestEnds[slot];
+                longestEnds[slot] = 0;
+                if (end == 0) {
+                    undecided++;
+                }
+                else {
+                    report(undecided, end, longestCodes[slot]);
+                    // Matches starting inside the mention are dropped
+                    for (long inside = undecided + 1; inside < end; inside++) {
+                        longestEnds[slot(inside)] = 0;
+                    }
+                    undecided = end;
+                }
+            }
+        }
+
+        private void report(long startIndex, long endIndex, String code) {
+            StringBuilder text = new StringBuilder();
+            for (long i = startIndex; i < endIndex; i++) {
+                text.appendCodePoint(codePoints[slot(i)]);
+            }
+            long start = offsets[slot(startIndex)];
+            consumer.accept(new CountryMention(start, start + text.length(), text.toString(), code));
+        }
+
+        private int before(long index) {
+            if (index == 0) {
+                return NO_CODE_POINT;
+            }
+            return codePoints[slot(index - 1)];
+        }
+
+        private int slot(long index) {
+            return (int) (index % codePoints.length);
+        }
+    }
+
+    /**
+     * Writes the input with its mentions replaced. Chars are held back in pending until it is certain
+     * that they are not part of a mention.
+     */
+    private final class Rewriter implements Consumer<CountryMention> {
+        private final Writer writer;
+        private final String language;
+        private final StringBuilder pending = new StringBuilder();
+        private long pendingStart;
+        private IOException error;
+
+        Rewriter(Writer writer, String language) {
+            this.writer = writer;
+            this.language = language;
+        }
+
+        @Override
+        public void accept(CountryMention mention) {
+            try {
+                flushTo(mention.getStart());
+                String translation = translator.translate(mention.getCountry(), language);
+                if (translation == null) {
+                    translation = mention.getText();
+                }
+                writer.write(translation);
+                skipTo(mention.getEnd());
+            }
+            catch (IOException ex) {
+                error = ex;
+            }
+        }
+
+        void check() throws IOException {
+            if (error != null) {
+                throw error;
+            }
+        }
+
+        void flushTo(long offset) throws IOException {
+            int length = (int) (offset - pendingStart);
+            if (length > 0) {
+                writer.append(pending, 0, length);
+                skipTo(offset);
+            }
+        }
+
+        private void skipTo(long offset) {
+            pending.delete(0, (int) (offset - pendingStart));
+            pendingStart = offset;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.translation;
+
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes translation records as CSV with a "country,language,name" header, quoting fields as
+ * described in RFC 4180 when they contain commas, quotes or line breaks.
+ */
+public class CsvTranslationWriter extends TranslationRecordWriter {
+
+    /**
+     * Constructs a CSV writer.
+     *
+     * @param channel the channel to write to
+     */
+    public CsvTranslationWriter(WritableByteChannel channel) {
+        super(channel);
+    }
+
+    @Override
+    protected void formatHeader(StringBuilder out) {
+        out.append("country,language,name\n");
+    }
+
+    @Override
+    protected void format(TranslationRecord record, StringBuilder out) {
+        appendField(record.getCountry(), out);
+        out.append(',');
+        appendField(record.getLanguage(), out);
+        out.append(',');
+        appendField(record.getName(), out);
+        out.append('\n');
+    }
+
+    private static void appendField(String value, StringBuilder out) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,344 @@
+package org.translation;
+
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A process-wide registry of parsed datasets, so that a resource file is only parsed once no matter
+ * how many translators or converters are constructed from it.
+ * Datasets are keyed by their kind (which parser produced them), the resource name and a hash of the
+ * resource content, so a resource whose content changed is parsed again instead of reusing stale data.
+ * The hash is remembered per resource together with the file's location, size and modification time,
+ * so acquiring a dataset that is already held only looks at the file's attributes and doesn't read it.
+ * A remembered hash is only trusted if the file was read at least {@link #TIMESTAMP_RESOLUTION_MILLIS}
+ * after it was last modified: a file rewritten with the same size within one tick of a coarse file
+ * system clock keeps its modification time, so a file read that soon is hashed again on every acquire.
+ * A resource's hash is forgotten once no dataset parsed from it is held any more.
+ * Each {@link Lease} counts as one reference; a dataset is dropped from the registry as soon as its
+ * last lease is closed. The parsed datasets are shared between threads and must be immutable.
+ */
+public final class DatasetRegistry {
+
+    /**
+     * The coarsest modification time resolution of common file systems (FAT), in milliseconds.
+     */
+    public static final long TIMESTAMP_RESOLUTION_MILLIS = 2_000;
+
+    private static final DatasetRegistry INSTANCE = new DatasetRegistry();
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    // Guarded by this
+    private final Map<Key, Entry> entries = new HashMap<>();
+    // Guarded by this
+    private final Map<String, Fingerprint> fingerprints = new HashMap<>();
+
+    private DatasetRegistry() {
+    }
+
+    /**
+     * Returns the registry shared by the whole JVM.
+     *
+     * @return the shared registry
+     */
+    public static DatasetRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Closes the lease once the owner is no longer reachable. This is how objects that don't have a
+     * close method of their own, like {@link JSONTranslator}, give their dataset back.
+     *
+     * @param owner the object using the dataset
+     * @param lease the lease to close when the owner is garbage collected; must not refer to the owner
+     */
+    public static void releaseWhenUnreachable(Object owner, Lease<?> lease) {
+        CLEANER.register(owner, lease::close);
+    }
+
+    /**
+     * Returns a lease on the dataset parsed from the given resource, parsing it only if no identical
+     * resource of the same kind is currently held by another lease.
+     *
+     * @param kind identifies the parser, so one resource can be parsed into different kinds of datasets
+     * @param resource the name of the file in the resources folder
+     * @param parser turns the content of the resource into an immutable dataset
+     * @param <T> the type of the dataset
+     * @return a lease on the shared dataset, which must be closed when it is not needed any more
+     * @throws RuntimeException if the resource file can't be loaded properly
+     */
+    public <T> Lease<T> acquire(String kind, String resource, Function<String, T> parser) {
+        Path file = locate(resource);
+        BasicFileAttributes attributes = readAttributes(file);
+        // Only read when the dataset has to be parsed, unless it is read for hashing anyway
+        Supplier<byte[]> content = () -> read(file);
+        String contentHash = knownHash(resource, file, attributes);
+        if (contentHash == null) {
+            long readMillis = System.currentTimeMillis();
+            byte[] hashedContent = read(file);
+            contentHash = hash(hashedContent);
+            synchronized (this) {
+                fingerprints.put(resource, new Fingerprint(file, attributes, readMillis, contentHash));
+            }
+            content = () -> hashedContent;
+        }
+        Key key = new Key(kind, resource, contentHash);
+        Entry entry;
+        synchronized (this) {
+            entry = entries.computeIfAbsent(key, Entry::new);
+            entry.references++;
+        }
+        try {
+            return new Lease<>(entry, entry.value(content, parser));
+        }
+        catch (RuntimeException ex) {
+            release(entry);
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns how many open leases there are on datasets of the given kind parsed from the given resource.
+     *
+     * @param kind the kind of the dataset
+     * @param resource the name of the file in the resources folder
+     * @return how many leases are open on the resource
+     */
+    public synchronized int referenceCount(String kind, String resource) {
+        int count = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.key.kind.equals(kind) && entry.key.resource.equals(resource)) {
+                count += entry.references;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns how many datasets are currently held by the registry.
+     *
+     * @return how many datasets are held
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void release(Entry entry) {
+        entry.references--;
+        if (entry.references == 0 && entries.remove(entry.key, entry) && !holds(entry.key.resource)) {
+            fingerprints.remove(entry.key.resource);
+        }
+    }
+
+    private boolean holds(String resource) {
+        for (Key key : entries.keySet()) {
+            if (key.resource.equals(resource)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether a content hash is remembered for the resource.
+     *
+     * @param resource the name of the file in the resources folder
+     * @return true if the resource's hash is remembered
+     */
+    synchronized boolean remembersHash(String resource) {
+        return fingerprints.containsKey(resource);
+    }
+
+    /**
+     * Returns the hash remembered for the resource if the file is still the one that was hashed and it
+     * was hashed long enough after its last modification.
+     *
+     * @return the content hash, or null if the resource has to be read and hashed
+     */
+    private synchronized String knownHash(String resource, Path file, BasicFileAttributes attributes) {
+        Fingerprint fingerprint = fingerprints.get(resource);
+        if (fingerprint == null || !fingerprint.matches(file, attributes) || !fingerprint.isSettled()) {
+            return null;
+        }
+        return fingerprint.contentHash;
+    }
+
+    private static Path locate(String resource) {
+        URL url = DatasetRegistry.class.getClassLoader().getResource(resource);
+        if (url == null) {
+            throw new RuntimeException("Resource not found: " + resource);
+        }
+        try {
+            return Paths.get(url.toURI());
+        }
+        catch (URISyntaxException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private static BasicFileAttributes readAttributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        }
+        catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private static byte[] read(Path file) {
+        try {
+            return Files.readAllBytes(file);
+        }
+        catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * A reference to a shared dataset. Closing it more than once has no further effect.
+     *
+     * @param <T> the type of the dataset
+     */
+    public final class Lease<T> implements AutoCloseable {
+        private final Entry entry;
+        private final T dataset;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Lease(Entry entry, T dataset) {
+            this.entry = entry;
+            this.dataset = dataset;
+        }
+
+        /**
+         * Returns the shared dataset.
+         *
+         * @return the dataset
+         */
+        public T get() {
+            return dataset;
+        }
+
+        /**
+         * Gives the reference back to the registry.
+         */
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                release(entry);
+            }
+        }
+    }
+
+    /**
+     * A dataset held by the registry, parsed by whichever lease asks for it first.
+     */
+    private static final class Entry {
+        private final Key key;
+        // Guarded by the registry
+        private int references;
+        // Guarded by this entry
+        private Object value;
+
+        Entry(Key key) {
+            this.key = key;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized <T> T value(Supplier<byte[]> content, Function<String, T> parser) {
+            if (value == null) {
+                value = Objects.requireNonNull(parser.apply(new String(content.get(), StandardCharsets.UTF_8)));
+            }
+            return (T) value;
+        }
+    }
+
+    /**
+     * The content hash of a resource file, valid as long as the file's location, size and modification
+     * time stay the same.
+     */
+    private static final class Fingerprint {
+        private final Path file;
+        private final long size;
+        private final FileTime lastModified;
+        private final long readMillis;
+        private final String contentHash;
+
+        Fingerprint(Path file, BasicFileAttributes attributes, long readMillis, String contentHash) {
+            this.file = file;
+            this.size = attributes.size();
+            this.lastModified = attributes.lastModifiedTime();
+            this.readMillis = readMillis;
+            this.contentHash = contentHash;
+        }
+
+        /**
+         * Tells whether the file was read late enough that a later write would have changed its
+         * modification time.
+         */
+        boolean isSettled() {
+            return readMillis - lastModified.toMillis() >= TIMESTAMP_RESOLUTION_MILLIS;
+        }
+
+        boolean matches(Path otherFile, BasicFileAttributes attributes) {
+            return file.equals(otherFile) && size == attributes.size()
+                    && lastModified.equals(attributes.lastModifiedTime());
+        }
+    }
+
+    /**
+     * Identifies a dataset by its kind, resource name and content hash.
+     */
+    private static final class Key {
+        private final String kind;
+        private final String resource;
+        private final String contentHash;
+
+        Key(String kind, String resource, String contentHash) {
+            this.kind = kind;
+            this.resource = resource;
+            this.contentHash = contentHash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return kind.equals(key.kind) && resource.equals(key.resource) && contentHash.equals(key.contentHash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, resource, contentHash);
+        }
+    }
+}
@@ -12,6 +12,9 @@ public class InLabByHandTranslator implements Translator {
     // TODO Checkstyle: Static variable definition in correct order now
     public static final String CANADA = "can";
 
+    private static final List<String> COUNTRIES = List.of(CANADA);
+    private static final List<String> CANADA_LANGUAGES = List.of("de", "en", "zh", "es", "fr");
+
     /**
      * Returns the language abbreviations for all languages whose translations are
      * available for the given country.
@@ -21,10 +24,7 @@ public class InLabByHandTranslator implements Translator {
      */
     @Override
     public List<String> getCountryLanguages(String country) {
-        if (CANADA.equals(country)) {
-            return new ArrayList<>(List.of("de", "en", "zh", "es", "fr"));
-        }
-        return new ArrayList<>();
+        return new ArrayList<>(countryLanguages(country));
     }
 
     /**
@@ -35,7 +35,31 @@ public class InLabByHandTranslator implements Translator {
      */
     @Override
     public List<String> getCountries() {
-        return new ArrayList<>(List.of(CANADA));
+        return new ArrayList<>(COUNTRIES);
+    }
+
+    /**
+     * Returns the unmodifiable list of language abbreviations available for the given country.
+     *
+     * @param country the country
+     * @return unmodifiable list of language abbreviations which are available for this country
+     */
+    @Override
+    public List<String> countryLanguages(String country) {
+        if (CANADA.equals(country)) {
+            return CANADA_LANGUAGES;
+        }
+        return List.of();
+    }
+
+    /**
+     * Returns the unmodifiable list of country abbreviations available from this Translator.
+     *
+     * @return unmodifiable list of country abbreviations
+     */
+    @Override
+    public List<String> countries() {
+        return COUNTRIES;
     }
 
     /**
@@ -1,9 +1,5 @@
 package org.translation;
 
-import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -14,12 +10,15 @@ import org.json.JSONObject;
 
 /**
  * An implementation of the Translator interface which reads in the translation
- * data from a JSON file. The data is read in once each time an instance of this class is constructed.
+ * data from a JSON file. The data of each file is parsed once and shared by all instances
+ * constructed from it through the {@link DatasetRegistry}.
  */
 public class JSONTranslator implements Translator {
 
-    // Instance variables to store the country and language mapping
-    private final Map<String, Map<String, String>> countryTranslations = new HashMap<>();
+    static final String DATASET_KIND = "translations";
+
+    // Instance variable to store the country and language mapping
+    private final TranslationTable table;
 
     /**
      * Constructs a JSONTranslator using data from the sample.json resources file.
@@ -35,24 +34,30 @@ public class JSONTranslator implements Translator {
      * @throws RuntimeException if the resource file can't be loaded properly
      */
     public JSONTranslator(String filename) {
-        try {
-            String jsonString = Files.readString(
-                    Paths.get(getClass().getClassLoader().getResource(filename).toURI())
-            );
-            parseJSONData(new JSONArray(jsonString));
+        DatasetRegistry.Lease<TranslationTable> lease = DatasetRegistry.getInstance().acquire(DATASET_KIND,
+                filename, jsonString -> new TranslationTable(parseJSONData(new JSONArray(jsonString))));
+        this.table = lease.get();
+        DatasetRegistry.releaseWhenUnreachable(this, lease);
+    }
 
-        }
-        catch (IOException | URISyntaxException ex) {
-            throw new RuntimeException(ex);
-        }
+    /**
+     * Constructs a JSONTranslator around already parsed translation data, as produced by
+     * {@link #parseJSONData(JSONArray)}. The translator keeps an immutable copy of the data.
+     *
+     * @param countryTranslations map from lowercase alpha3 country code to its language-to-name map
+     */
+    JSONTranslator(Map<String, Map<String, String>> countryTranslations) {
+        this.table = new TranslationTable(countryTranslations);
     }
 
     /**
-     * Parses the JSON data and populates the countryTranslations map.
+     * Parses the JSON data into a map from lowercase country code to its translations.
      *
      * @param jsonArray The JSONArray containing country data
+     * @return a new mutable map from country code (alpha3) to a map of language codes to translations
      */
-    private void parseJSONData(JSONArray jsonArray) {
+    static Map<String, Map<String, String>> parseJSONData(JSONArray jsonArray) {
+        Map<String, Map<String, String>> countryTranslations = new HashMap<>();
         for (int i = 0; i < jsonArray.length(); i++) {
             JSONObject countryObject = jsonArray.getJSONObject(i);
             String countryCode = countryObject.optString("alpha3");
@@ -61,6 +66,7 @@ public class JSONTranslator implements Translator {
                 countryTranslations.put(countryCode.toLowerCase(), getTranslations(countryObject));
             }
         }
+        return countryTranslations;
     }
 
     /**
@@ -69,7 +75,7 @@ public class JSONTranslator implements Translator {
      * @param countryCode The country code to check
      * @return true if valid, false otherwise
      */
-    private boolean isValidCountryCode(String countryCode) {
+    static boolean isValidCountryCode(String countryCode) {
         return countryCode != null && !countryCode.isEmpty();
     }
 
@@ -79,7 +85,7 @@ public class JSONTranslator implements Translator {
      * @param countryObject The JSONObject containing country data
      * @return A map of language codes to translations
      */
-    private Map<String, String> getTranslations(JSONObject countryObject) {
+    static Map<String, String> getTranslations(JSONObject countryObject) {
         Map<String, String> translations = new HashMap<>();
         for (String key : countryObject.keySet()) {
             if (isLanguageKey(key)) {
@@ -98,7 +104,7 @@ public class JSONTranslator implements Translator {
      * @param key The key to check
      * @return true if it is a language key, false otherwise
      */
-    private boolean isLanguageKey(String key) {
+    private static boolean isLanguageKey(String key) {
         return !"id".equals(key) && !"alpha2".equals(key) && !"alpha3".equals(key) && !"numeric".equals(key);
     }
 
@@ -111,11 +117,7 @@ public class JSONTranslator implements Translator {
      */
     @Override
     public List<String> getCountryLanguages(String country) {
-        Map<String, String> translations = countryTranslations.get(country.toLowerCase());
-        if (translations == null) {
-            return new ArrayList<>();
-        }
-        return new ArrayList<>(translations.keySet());
+        return new ArrayList<>(countryLanguages(country));
     }
 
     /**
@@ -126,7 +128,7 @@ public class JSONTranslator implements Translator {
      */
     @Override
     public List<String> getCountries() {
-        return new ArrayList<>(countryTranslations.keySet());
+        return new ArrayList<>(table.countries());
     }
 
     /**
@@ -138,10 +140,27 @@ public class JSONTranslator implements Translator {
      */
     @Override
     public String translate(String country, String language) {
-        Map<String, String> translations = countryTranslations.get(country.toLowerCase());
-        if (translations == null) {
-            return null;
-        }
-        return translations.getOrDefault(language, null);
+        return table.translate(country.toLowerCase(), language);
+    }
+
+    /**
+     * Returns the cached, sorted and unmodifiable list of country abbreviations.
+     *
+     * @return unmodifiable list of country abbreviations
+     */
+    @Override
+    public List<String> countries() {
+        return table.countries();
+    }
+
+    /**
+     * Returns the cached, sorted and unmodifiable list of language abbreviations for the given country.
+     *
+     * @param country The country code (alpha3)
+     * @return unmodifiable list of language abbreviations available for this country
+     */
+    @Override
+    public List<String> countryLanguages(String country) {
+        return table.languages(country.toLowerCase());
     }
 }
@@ -0,0 +1,190 @@
+package org.translation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.json.JSONArray;
+
+/**
+ * Loads several JSON translation files (in the same format as sample.json) in parallel and
+ * merges them into a single {@link JSONTranslator}.
+ * Files are parsed on a fork-join pool and merged pairwise in file order, so the result only
+ * depends on the order of the files and the {@link ConflictPolicy}, never on thread scheduling.
+ */
+public class JSONTranslatorLoader {
+
+    /**
+     * The default glob used to select the files of a directory.
+     */
+    public static final String DEFAULT_GLOB = "*.json";
+
+    /**
+     * Decides which translation is kept when several files translate the same country into the same language.
+     */
+    public enum ConflictPolicy {
+        /**
+         * A file overrides the translations of all files before it.
+         */
+        LAST_WINS,
+        /**
+         * Files are listed by decreasing priority: a file never overrides the files before it.
+         */
+        FIRST_WINS
+    }
+
+    private final ForkJoinPool pool;
+    private final ConflictPolicy conflictPolicy;
+
+    /**
+     * Constructs a loader which parses on the common fork-join pool and lets later files win.
+     */
+    public JSONTranslatorLoader() {
+        this(ForkJoinPool.commonPool(), ConflictPolicy.LAST_WINS);
+    }
+
+    /**
+     * Constructs a loader with the given pool and conflict policy.
+     *
+     * @param pool the pool used to parse the files
+     * @param conflictPolicy how conflicting translations between files are resolved
+     */
+    public JSONTranslatorLoader(ForkJoinPool pool, ConflictPolicy conflictPolicy) {
+        this.pool = pool;
+        this.conflictPolicy = conflictPolicy;
+    }
+
+    /**
+     * Loads all files in the directory matching {@link #DEFAULT_GLOB}.
+     *
+     * @param directory the directory containing the translation files
+     * @return a translator containing the merged translations
+     * @throws UncheckedIOException if the directory or one of its files can't be read
+     */
+    public JSONTranslator loadDirectory(Path directory) {
+        return loadDirectory(directory, DEFAULT_GLOB);
+    }
+
+    /**
+     * Loads all files in the directory whose name matches the given glob. The files are merged in
+     * the order of their names, compared char by char and case-sensitively whatever the file system,
+     * so the result is the same on every platform.
+     *
+     * @param directory the directory containing the translation files
+     * @param glob the glob the file names must match, for example "*.json" or "countries-*.json"
+     * @return a translator containing the merged translations
+     * @throws UncheckedIOException if the directory or one of its files can't be read
+     */
+    public JSONTranslator loadDirectory(Path directory, String glob) {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        // Path.compareTo is provider specific, for example case-insensitive on Windows
+        files.sort(Comparator.comparing(file -> file.getFileName().toString()));
+        return load(files);
+    }
+
+    /**
+     * Loads the given files and merges them in list order according to the conflict policy.
+     *
+     * @param files the files to load, in merge order
+     * @return a translator containing the merged translations
+     * @throws UncheckedIOException if one of the files can't be read
+     */
+    public JSONTranslator load(List<Path> files) {
+        if (files.isEmpty()) {
+            return new JSONTranslator(new HashMap<>());
+        }
+        List<Path> ordered = List.copyOf(files);
+        return new JSONTranslator(pool.invoke(new LoadTask(ordered, 0, ordered.size())));
+    }
+
+    /**
+     * Parses a single translation file.
+     *
+     * @param file the file to parse
+     * @return a new mutable map from country code to its translations
+     * @throws UncheckedIOException if the file can't be read
+     */
+    static Map<String, Map<String, String>> parseFile(Path file) {
+        try {
+            return JSONTranslator.parseJSONData(new JSONArray(Files.readString(file)));
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Merges the translations of a later file into those of an earlier one.
+     *
+     * @param earlier the translations of the earlier files, updated in place
+     * @param later the translations of the later files
+     * @return the merged translations
+     */
+    private Map<String, Map<String, String>> merge(Map<String, Map<String, String>> earlier,
+                                                   Map<String, Map<String, String>> later) {
+        for (Map.Entry<String, Map<String, String>> entry : later.entrySet()) {
+            Map<String, String> translations = earlier.get(entry.getKey());
+            if (translations == null) {
+                earlier.put(entry.getKey(), entry.getValue());
+            }
+            else if (conflictPolicy == ConflictPolicy.LAST_WINS) {
+                translations.putAll(entry.getValue());
+            }
+            else {
+                for (Map.Entry<String, String> translation : entry.getValue().entrySet()) {
+                    translations.putIfAbsent(translation.getKey(), translation.getValue());
+                }
+            }
+        }
+        return earlier;
+    }
+
+    /**
+     * Parses a range of files, splitting it in halves until a single file is left.
+     */
+    private final class LoadTask extends RecursiveTask<Map<String, Map<String, String>>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Path> files;
+        private final int from;
+        private final int to;
+
+        LoadTask(List<Path> files, int from, int to) {
+            this.files = files;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<String, Map<String, String>> compute() {
+            if (to - from == 1) {
+                return parseFile(files.get(from));
+            }
+            int middle = (from + to) >>> 1;
+            LoadTask left = new LoadTask(files, from, middle);
+            left.fork();
+            Map<String, Map<String, String>> right = new LoadTask(files, middle, to).compute();
+            return merge(left.join(), right);
+        }
+    }
+}
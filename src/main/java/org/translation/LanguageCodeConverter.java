@@ -1,21 +1,18 @@
 package org.translation;
 
-import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * This class provides the service of converting language codes to their names.
  */
 public class LanguageCodeConverter {
 
-    // Instance variables to store the language code mappings
-    private final Map<String, String> codeToLanguageMap = new HashMap<>();
-    private final Map<String, String> languageToCodeMap = new HashMap<>();
+    static final String DATASET_KIND = "language-codes";
+
+    private static final int EXPECTED_PARTS_LENGTH = 2;
+    private static final int CODE_COLUMN = 1;
+
+    private final CodeTable table;
 
     /**
      * Default constructor which will load the language codes from "language-codes.txt"
@@ -32,30 +29,10 @@ public class LanguageCodeConverter {
      * @throws RuntimeException if the resource file can't be loaded properly
      */
     public LanguageCodeConverter(String filename) {
-        try {
-            List<String> lines = Files.readAllLines(Paths.get(getClass()
-                    .getClassLoader().getResource(filename).toURI()));
-
-            // Skip the header line if present
-            boolean isFirstLine = true;
-            for (String line : lines) {
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    continue;
-                }
-                String[] parts = line.split("\t");
-                if (parts.length >= 2) {
-                    String language = parts[0].trim();
-                    String code = parts[1].trim().toLowerCase();
-                    codeToLanguageMap.put(code, language);
-                    languageToCodeMap.put(language.toLowerCase(), code);
-                }
-            }
-
-        }
-        catch (IOException | URISyntaxException ex) {
-            throw new RuntimeException(ex);
-        }
+        DatasetRegistry.Lease<CodeTable> lease = DatasetRegistry.getInstance().acquire(DATASET_KIND, filename,
+                content -> CodeTable.parse(content, CODE_COLUMN, EXPECTED_PARTS_LENGTH));
+        this.table = lease.get();
+        DatasetRegistry.releaseWhenUnreachable(this, lease);
     }
 
     /**
@@ -65,7 +42,11 @@ public class LanguageCodeConverter {
      * @return the name of the language corresponding to the code
      */
     public String fromLanguageCode(String code) {
-        return codeToLanguageMap.getOrDefault(code.toLowerCase(), "Unknown code");
+        String name = table.nameOf(code.toLowerCase());
+        if (name == null) {
+            return "Unknown code";
+        }
+        return name;
     }
 
     /**
@@ -75,7 +56,11 @@ public class LanguageCodeConverter {
      * @return the 2-letter code of the language
      */
     public String fromLanguage(String language) {
-        return languageToCodeMap.getOrDefault(language.toLowerCase(), "Unknown language");
+        String code = table.codeOf(language.toLowerCase());
+        if (code == null) {
+            return "Unknown language";
+        }
+        return code;
     }
 
     /**
@@ -84,6 +69,28 @@ public class LanguageCodeConverter {
      * @return how many languages are included in this code converter.
      */
     public int getNumLanguages() {
-        return codeToLanguageMap.size();
+        return table.size();
+    }
+
+    /**
+     * Returns a fuzzy index from every language name of this converter to its code, built on first use.
+     * The index is shared by all converters loaded from the same file; it is immutable and thread-safe.
+     *
+     * @return the index of language names
+     */
+    public BKTree<String> getNameIndex() {
+        return table.getNameIndex();
+    }
+
+    /**
+     * Returns the languages whose name is within the given edit distance of the given name, closest first.
+     * This lets callers recover from typos such as "Englsh".
+     *
+     * @param language the name of the language, possibly misspelled
+     * @param maxDistance the largest number of typos (insertions, deletions and substitutions) allowed
+     * @return the matching names with their codes, closest first
+     */
+    public List<BKTree.Match<String>> suggestLanguages(String language, int maxDistance) {
+        return getNameIndex().search(language, maxDistance);
     }
 }
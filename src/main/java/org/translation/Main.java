@@ -17,6 +17,10 @@ import java.util.Scanner;
 public class Main {
 
     public static final String QUIT = "quit";
+    public static final int MAX_TYPO_DISTANCE = 2;
+
+    private static final String UNKNOWN_COUNTRY = "Unknown country";
+    private static final String UNKNOWN_LANGUAGE = "Unknown language";
 
     /**
      * This is the main entry point of our Translation System!<br/>
@@ -42,8 +46,9 @@ public class Main {
      */
     public static void runProgram(Translator translator, CountryCodeConverter countryCodeConverter,
                                   LanguageCodeConverter languageCodeConverter) {
+        BKTree<String> countryNameIndex = buildCountryNameIndex(translator, countryCodeConverter);
         while (true) {
-            String countryCode = promptForCountry(translator, countryCodeConverter);
+            String countryCode = promptForCountry(translator, countryCodeConverter, countryNameIndex);
             if (QUIT.equalsIgnoreCase(countryCode)) {
                 break;
             }
@@ -75,8 +80,34 @@ public class Main {
         }
     }
 
-    private static String promptForCountry(Translator translator, CountryCodeConverter countryCodeConverter) {
-        List<String> countryCodes = translator.getCountries();
+    /**
+     * Builds a fuzzy index from country names to country codes for all countries of the translator.
+     * Each country is indexed under its English name from the converter and under its name in
+     * every language the translator has, so "Kanada" or a typo like "Canda" both lead to "can".
+     * @param translator the translator whose countries are indexed
+     * @param countryCodeConverter the converter providing the English country names
+     * @return the index of country names
+     */
+    public static BKTree<String> buildCountryNameIndex(Translator translator,
+                                                       CountryCodeConverter countryCodeConverter) {
+        BKTree.Builder<String> index = new BKTree.Builder<>();
+        for (String code : translator.countries()) {
+            String name = countryCodeConverter.fromCountryCode(code);
+            if (!"Unknown code".equals(name)) {
+                index.add(name, code);
+            }
+        }
+        translator.forEachTranslation((code, language, name) -> {
+            if (name != null) {
+                index.add(name, code);
+            }
+        });
+        return index.build();
+    }
+
+    private static String promptForCountry(Translator translator, CountryCodeConverter countryCodeConverter,
+                                           BKTree<String> countryNameIndex) {
+        List<String> countryCodes = translator.countries();
         List<String> countryNames = new ArrayList<>();
         for (String code : countryCodes) {
             String name = countryCodeConverter.fromCountryCode(code);
@@ -95,6 +126,7 @@ public class Main {
         Scanner s = new Scanner(System.in);
         String countryName;
         String countryCode = QUIT;
+        String suggestion = null;
 
         do {
             countryName = s.nextLine();
@@ -102,19 +134,50 @@ public class Main {
                 countryCode = QUIT;
                 break;
             }
+            if (suggestion != null && countryName.isBlank()) {
+                countryName = suggestion;
+            }
 
-            countryCode = countryCodeConverter.fromCountry(countryName);
-            if ("Unknown country".equals(countryCode)) {
-                System.out.println("Invalid country selected. Please try again.");
+            countryCode = findCountryCode(countryName, countryCodeConverter, countryNameIndex);
+            if (UNKNOWN_COUNTRY.equals(countryCode)) {
+                BKTree.Match<String> match = countryNameIndex.closest(countryName, MAX_TYPO_DISTANCE);
+                suggestion = null;
+                if (match != null) {
+                    suggestion = countryCodeConverter.fromCountryCode(match.getValue());
+                }
+                printInvalid("country", suggestion);
             }
-        } while ("Unknown country".equals(countryCode));
+        } while (UNKNOWN_COUNTRY.equals(countryCode));
 
         return countryCode;
     }
 
+    private static String findCountryCode(String countryName, CountryCodeConverter countryCodeConverter,
+                                          BKTree<String> countryNameIndex) {
+        String countryCode = countryCodeConverter.fromCountry(countryName);
+        if (UNKNOWN_COUNTRY.equals(countryCode)) {
+            // The name may be spelled correctly in one of the translated languages
+            BKTree.Match<String> match = countryNameIndex.closest(countryName, 0);
+            if (match != null) {
+                countryCode = match.getValue();
+            }
+        }
+        return countryCode;
+    }
+
+    private static void printInvalid(String kind, String suggestion) {
+        if (suggestion == null) {
+            System.out.println("Invalid " + kind + " selected. Please try again.");
+        }
+        else {
+            System.out.println("Invalid " + kind + " selected. Did you mean " + suggestion
+                    + "? Press enter to accept or try again.");
+        }
+    }
+
     private static String promptForLanguage(Translator translator, String countryCode,
                                             LanguageCodeConverter languageCodeConverter) {
-        List<String> languageCodes = translator.getCountryLanguages(countryCode);
+        List<String> languageCodes = translator.countryLanguages(countryCode);
         List<String> languageNames = new ArrayList<>();
         for (String code : languageCodes) {
             String name = languageCodeConverter.fromLanguageCode(code);
@@ -133,6 +196,7 @@ public class Main {
         Scanner s = new Scanner(System.in);
         String languageName;
         String languageCode = QUIT;
+        String suggestion = null;
 
         do {
             languageName = s.nextLine();
@@ -140,12 +204,23 @@ public class Main {
                 languageCode = QUIT;
                 break;
             }
+            if (suggestion != null && languageName.isBlank()) {
+                languageName = suggestion;
+            }
 
             languageCode = languageCodeConverter.fromLanguage(languageName);
-            if ("Unknown language".equals(languageCode)) {
-                System.out.println("Invalid language selected. Please try again.");
+            if (UNKNOWN_LANGUAGE.equals(languageCode)) {
+                suggestion = null;
+                for (BKTree.Match<String> match : languageCodeConverter.suggestLanguages(languageName,
+                        MAX_TYPO_DISTANCE)) {
+                    if (languageCodes.contains(match.getValue())) {
+                        suggestion = match.getName();
+                        break;
+                    }
+                }
+                printInvalid("language", suggestion);
             }
-        } while ("Unknown language".equals(languageCode));
+        } while (UNKNOWN_LANGUAGE.equals(languageCode));
 
         return languageCode;
     }
@@ -0,0 +1,40 @@
+package org.translation;
+
+import java.nio.channels.WritableByteChannel;
+
+import org.json.JSONObject;
+
+/**
+ * Writes translation records as newline-delimited JSON: one object with "country", "language"
+ * and "name" keys per line.
+ */
+public class NDJSONTranslationWriter extends TranslationRecordWriter {
+
+    /**
+     * Constructs a newline-delimited JSON writer.
+     *
+     * @param channel the channel to write to
+     */
+    public NDJSONTranslationWriter(WritableByteChannel channel) {
+        super(channel);
+    }
+
+    @Override
+    protected void formatHeader(StringBuilder out) {
+        // Newline-delimited JSON has no header
+    }
+
+    @Override
+    protected void format(TranslationRecord record, StringBuilder out) {
+        out.append("{\"country\":").append(JSONObject.quote(record.getCountry()))
+                .append(",\"language\":").append(JSONObject.quote(record.getLanguage()))
+                .append(",\"name\":");
+        if (record.getName() == null) {
+            out.append("null");
+        }
+        else {
+            out.append(JSONObject.quote(record.getName()));
+        }
+        out.append("}\n");
+    }
+}
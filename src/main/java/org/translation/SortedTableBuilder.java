@@ -0,0 +1,309 @@
+package org.translation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+/**
+ * Bulk loads translations into a sorted table file for {@link SortedTableTranslator}, using an external
+ * sort so that the input may be far larger than the heap: entries are collected in runs of a bounded number
+ * of bytes, each run is sorted and spilled to a temporary file, and {@link #build(Path)} merges the runs into
+ * the table. Input can be JSON in the format of sample.json, tab separated (code, language, name) lines, or
+ * a code list like country-codes.txt. When the same country and language are added more than once, the last
+ * one wins. A builder which is abandoned, for example after an exception, must be closed so that its
+ * temporary runs are deleted.
+ */
+public class SortedTableBuilder implements AutoCloseable {
+
+    /**
+     * The default number of bytes of entries held in memory before a run is spilled to disk.
+     */
+    public static final long DEFAULT_RUN_BYTES = 64L * 1024 * 1024;
+
+    // Heap taken by an entry besides its key and value bytes: two array headers, the entry and its list slot
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final int TSV_COLUMNS = 3;
+    private static final Comparator<Entry> KEY_ORDER = (first, second) ->
+            Arrays.compareUnsigned(first.key, second.key);
+
+    private final Path temporaryDirectory;
+    private final long runBytes;
+    private final List<Entry> run = new ArrayList<>();
+    private final List<Path> runFiles = new ArrayList<>();
+    private long bufferedBytes;
+
+    /**
+     * Constructs a builder which spills runs of {@link #DEFAULT_RUN_BYTES} to the system temporary directory.
+     */
+    public SortedTableBuilder() {
+        this(Path.of(System.getProperty("java.io.tmpdir")), DEFAULT_RUN_BYTES);
+    }
+
+    /**
+     * Constructs a builder.
+     *
+     * @param temporaryDirectory the directory to spill runs to
+     * @param runBytes roughly how many bytes of entries are held in memory before a run is spilled
+     */
+    public SortedTableBuilder(Path temporaryDirectory, long runBytes) {
+        if (runBytes <= 0) {
+            throw new IllegalArgumentException("Run size must be positive but was " + runBytes);
+        }
+        this.temporaryDirectory = temporaryDirectory;
+        this.runBytes = runBytes;
+    }
+
+    /**
+     * Adds a single translation.
+     *
+     * @param country the country (or region, city...) code
+     * @param language the language code
+     * @param name the name in the language
+     * @throws IOException if a run can't be spilled
+     * @throws IllegalArgumentException if the key or the name is longer than the table format allows
+     */
+    public void add(String country, String language, String name) throws IOException {
+        Entry entry = new Entry(SortedTableWriter.key(country, language), name.getBytes(StandardCharsets.UTF_8));
+        if (entry.key.length > SortedTableWriter.MAX_FIELD_LENGTH
+                || entry.value.length > SortedTableWriter.MAX_FIELD_LENGTH) {
+            throw new IllegalArgumentException("Keys and names are limited to "
+                    + SortedTableWriter.MAX_FIELD_LENGTH + " bytes");
+        }
+        run.add(entry);
+        bufferedBytes += entry.key.length + entry.value.length + ENTRY_OVERHEAD;
+        if (bufferedBytes >= runBytes) {
+            spill();
+        }
+    }
+
+    /**
+     * Adds every translation of a JSON array in the format of sample.json. The array is read one
+     * object at a time, so it is never held in memory as a whole.
+     *
+     * @param reader the JSON input, which is not closed
+     * @throws IOException if a run can't be spilled
+     * @throws org.json.JSONException if the input is not a JSON array of objects
+     */
+    public void addJSON(Reader reader) throws IOException {
+        JSONTokener tokener = new JSONTokener(reader);
+        if (tokener.nextClean() != '[') {
+            throw tokener.syntaxError("A JSON array must start with '['");
+        }
+        char next = tokener.nextClean();
+        if (next == ']') {
+            return;
+        }
+        tokener.back();
+        while (next != ']') {
+            Object value = tokener.nextValue();
+            if (!(value instanceof JSONObject)) {
+                throw tokener.syntaxError("Expected a JSON object");
+            }
+            JSONObject countryObject = (JSONObject) value;
+            String countryCode = countryObject.optString("alpha3");
+            if (JSONTranslator.isValidCountryCode(countryCode)) {
+                for (Map.Entry<String, String> translation
+                        : JSONTranslator.getTranslations(countryObject).entrySet()) {
+                    add(countryCode, translation.getKey(), translation.getValue());
+                }
+            }
+            next = tokener.nextClean();
+            if (next != ',' && next != ']') {
+                throw tokener.syntaxError("Expected ',' or ']'");
+            }
+        }
+    }
+
+    /**
+     * Adds tab separated lines of code, language code and name, without a header. Lines with fewer
+     * columns are skipped.
+     *
+     * @param reader the input, which is not closed
+     * @throws IOException if the input can't be read or a run can't be spilled
+     */
+    public void addTSV(Reader reader) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        String line = lines.readLine();
+        while (line != null) {
+            String[] parts = line.split("\t");
+            if (parts.length >= TSV_COLUMNS) {
+                add(parts[0].trim(), parts[1].trim(), parts[2].trim());
+            }
+            line = lines.readLine();
+        }
+    }
+
+    /**
+     * Adds a tab separated code list with a header line and the name in the first column, such as
+     * country-codes.txt, with every name in the same language.
+     *
+     * @param reader the input, which is not closed
+     * @param codeColumn the column holding the code, for example 2 for the alpha3 code of country-codes.txt
+     * @param language the language code of the names
+     * @throws IOException if the input can't be read or a run can't be spilled
+     */
+    public void addCodeList(Reader reader, int codeColumn, String language) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        // Skip the header line
+        String line = lines.readLine();
+        if (line != null) {
+            line = lines.readLine();
+        }
+        while (line != null) {
+            String[] parts = line.split("\t");
+            if (parts.length > codeColumn) {
+                add(parts[codeColumn].trim(), language, parts[0].trim());
+            }
+            line = lines.readLine();
+        }
+    }
+
+    /**
+     * Merges everything added so far into a sorted table file and deletes the temporary runs.
+     * The builder is empty afterwards.
+     *
+     * @param output the table file to write
+     * @throws IOException if a run can't be read or the table can't be written
+     */
+    public void build(Path output) throws IOException {
+        if (!run.isEmpty()) {
+            spill();
+        }
+        List<RunReader> readers = new ArrayList<>();
+        try (SortedTableWriter writer = new SortedTableWriter(output)) {
+            // Equal keys come out in run order, so the entry added last is kept
+            PriorityQueue<RunReader> queue = new PriorityQueue<>(Comparator
+                    .comparing((RunReader reader) -> reader.current, KEY_ORDER)
+                    .thenComparingInt(reader -> reader.order));
+            for (int i = 0; i < runFiles.size(); i++) {
+                RunReader reader = new RunReader(runFiles.get(i), i);
+                readers.add(reader);
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+            Entry pending = null;
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                Entry entry = reader.current;
+                if (pending != null && !Arrays.equals(pending.key, entry.key)) {
+                    writer.add(pending.key, pending.value);
+                }
+                pending = entry;
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+            if (pending != null) {
+                writer.add(pending.key, pending.value);
+            }
+        }
+        finally {
+            for (RunReader reader : readers) {
+                reader.input.close();
+            }
+            deleteRuns();
+        }
+    }
+
+    /**
+     * Discards everything added since the last build and deletes the temporary runs. Closing a builder
+     * more than once, or after a build, has no further effect.
+     *
+     * @throws IOException if a run can't be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        run.clear();
+        bufferedBytes = 0;
+        deleteRuns();
+    }
+
+    private void deleteRuns() throws IOException {
+        for (Path runFile : runFiles) {
+            Files.deleteIfExists(runFile);
+        }
+        runFiles.clear();
+    }
+
+    /**
+     * Sorts the entries in memory and writes them to a new run file. The sort is stable, so entries
+     * with the same key stay in the order they were added.
+     */
+    private void spill() throws IOException {
+        run.sort(KEY_ORDER);
+        Path runFile = Files.createTempFile(temporaryDirectory, "sorted-table-run", ".bin");
+        runFiles.add(runFile);
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(runFile)))) {
+            for (Entry entry : run) {
+                out.writeShort(entry.key.length);
+                out.write(entry.key);
+                out.writeShort(entry.value.length);
+                out.write(entry.value);
+            }
+        }
+        run.clear();
+        bufferedBytes = 0;
+    }
+
+    /**
+     * A key and value as encoded in the table.
+     */
+    private static final class Entry {
+        private final byte[] key;
+        private final byte[] value;
+
+        Entry(byte[] key, byte[] value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Reads a run file one entry at a time during the merge.
+     */
+    private static final class RunReader {
+        private final DataInputStream input;
+        private final int order;
+        private Entry current;
+
+        RunReader(Path file, int order) throws IOException {
+            this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+            this.order = order;
+        }
+
+        boolean advance() throws IOException {
+            int keyLength;
+            try {
+                keyLength = input.readUnsignedShort();
+            }
+            catch (EOFException ex) {
+                return false;
+            }
+            byte[] key = new byte[keyLength];
+            input.readFully(key);
+            byte[] value = new byte[input.readUnsignedShort()];
+            input.readFully(value);
+            current = new Entry(key, value);
+            return true;
+        }
+    }
+}
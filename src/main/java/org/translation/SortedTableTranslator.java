@@ -0,0 +1,476 @@
+package org.translation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * An implementation of the Translator interface backed by a sorted table file, as written by
+ * {@link SortedTableBuilder}, for datasets too large to keep on the heap such as gazetteers of regions
+ * and cities. The entries stay in memory-mapped buffers outside the heap; only a sparse index holding
+ * the first key of every block and a small cache of decoded block layouts live on the heap, so heap
+ * size and garbage collection pauses don't grow with the number of entries.
+ * Point lookups binary search the index and then one block. Listing countries scans the whole table and
+ * returns a new list on every call, so {@link #getCountries()} and {@link #countries()} are linear in its
+ * size in both time and heap; enumerate large tables with {@link #translations()} or
+ * {@link #forEachTranslation(TranslationVisitor)} instead, which walk the table in one sequential pass.
+ * Instances are safe to use from several threads.
+ */
+public class SortedTableTranslator implements Translator {
+
+    /**
+     * How many decoded block layouts are cached.
+     */
+    public static final int BLOCK_CACHE_SIZE = 64;
+
+    private final MappedByteBuffer[] segments;
+    private final byte[][] firstKeys;
+    private final long[] blockOffsets;
+    private final long entryCount;
+    private final int countryCount;
+    private final Map<Integer, int[]> blockCache = new LinkedHashMap<>(BLOCK_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, int[]> eldest) {
+            return size() > BLOCK_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Opens a sorted table file.
+     *
+     * @param file the file written by {@link SortedTableBuilder}
+     * @throws UncheckedIOException if the file can't be read
+     * @throws IllegalArgumentException if the file is not a sorted table
+     */
+    public SortedTableTranslator(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < SortedTableWriter.HEADER_SIZE + SortedTableWriter.FOOTER_SIZE) {
+                throw new IllegalArgumentException(file + " is not a sorted table");
+            }
+            ByteBuffer footer = read(channel, size - SortedTableWriter.FOOTER_SIZE, SortedTableWriter.FOOTER_SIZE);
+            long indexOffset = footer.getLong();
+            int blockCount = footer.getInt();
+            this.entryCount = footer.getLong();
+            this.countryCount = footer.getInt();
+            ByteBuffer header = read(channel, 0, SortedTableWriter.HEADER_SIZE);
+            if (footer.getInt() != SortedTableWriter.MAGIC || header.getInt() != SortedTableWriter.MAGIC
+                    || header.getInt() != SortedTableWriter.VERSION) {
+                throw new IllegalArgumentException(file + " is not a sorted table");
+            }
+
+            ByteBuffer index = read(channel, indexOffset, (int) (size - SortedTableWriter.FOOTER_SIZE - indexOffset));
+            this.firstKeys = new byte[blockCount][];
+            this.blockOffsets = new long[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                blockOffsets[i] = index.getLong();
+                index.getInt();
+                firstKeys[i] = new byte[index.getShort() & SortedTableWriter.MAX_FIELD_LENGTH];
+                index.get(firstKeys[i]);
+            }
+
+            int segmentCount = (int) ((indexOffset + SortedTableWriter.SEGMENT_SIZE - 1)
+                    / SortedTableWriter.SEGMENT_SIZE);
+            this.segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long start = i * SortedTableWriter.SEGMENT_SIZE;
+                long length = Math.min(SortedTableWriter.SEGMENT_SIZE, indexOffset - start);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            }
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Returns how many translations the table holds.
+     *
+     * @return the number of entries
+     */
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Returns the language codes available for the given country, in sorted order.
+     *
+     * @param country the country code
+     * @return list of language codes which are available for this country
+     */
+    @Override
+    public List<String> getCountryLanguages(String country) {
+        byte[] prefix = SortedTableWriter.key(country, "");
+        List<String> languages = new ArrayList<>();
+        int block = Math.max(0, findBlock(prefix));
+        int entry = firstEntryAtLeast(block, prefix);
+        for (; block < firstKeys.length; block++, entry = 0) {
+            ByteBuffer segment = segment(block);
+            int[] positions = positions(block);
+            for (; entry < positions.length; entry++) {
+                int position = positions[entry];
+                int keyLength = segment.getShort(position) & SortedTableWriter.MAX_FIELD_LENGTH;
+                if (!startsWith(segment, position + Short.BYTES, keyLength, prefix)) {
+                    return languages;
+                }
+                languages.add(string(segment, position + Short.BYTES + prefix.length, keyLength - prefix.length));
+            }
+        }
+        return languages;
+    }
+
+    /**
+     * Returns all country codes in sorted order. This scans the whole table.
+     *
+     * @return list of country codes for which we have translations available
+     */
+    @Override
+    public List<String> getCountries() {
+        List<String> countries = new ArrayList<>(countryCount);
+        forEachKey((segment, position, keyLength, countryLength) -> {
+            if (countries.isEmpty()
+                    || !matches(segment, position, countryLength, countries.get(countries.size() - 1))) {
+                countries.add(string(segment, position, countryLength));
+            }
+        });
+        return countries;
+    }
+
+    /**
+     * Returns the country codes as an unmodifiable list. The table doesn't keep this list on the heap, so
+     * unlike the in-memory translators every call scans the whole table and copies every code.
+     *
+     * @return unmodifiable list of country codes for which we have translations available
+     */
+    @Override
+    public List<String> countries() {
+        return Collections.unmodifiableList(getCountries());
+    }
+
+    /**
+     * Returns the name of the country in the given language.
+     *
+     * @param country the country code
+     * @param language the language code
+     * @return the name of the country in the given language or null if no translation is available
+     */
+    @Override
+    public String translate(String country, String language) {
+        byte[] key = SortedTableWriter.key(country, language);
+        int block = findBlock(key);
+        if (block < 0) {
+            return null;
+        }
+        ByteBuffer segment = segment(block);
+        int[] positions = positions(block);
+        int low = 0;
+        int high = positions.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int position = positions[middle];
+            int keyLength = segment.getShort(position) & SortedTableWriter.MAX_FIELD_LENGTH;
+            int comparison = compare(segment, position + Short.BYTES, keyLength, key);
+            if (comparison < 0) {
+                low = middle + 1;
+            }
+            else if (comparison > 0) {
+                high = middle - 1;
+            }
+            else {
+                int valuePosition = position + Short.BYTES + keyLength;
+                int valueLength = segment.getShort(valuePosition) & SortedTableWriter.MAX_FIELD_LENGTH;
+                return string(segment, valuePosition + Short.BYTES, valueLength);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns how many countries the table holds, without scanning it.
+     *
+     * @return the number of countries
+     */
+    @Override
+    public int getNumCountries() {
+        return countryCount;
+    }
+
+    /**
+     * Calls the visitor for every translation in one sequential pass over the table.
+     *
+     * @param visitor the visitor receiving the translations
+     */
+    @Override
+    public void forEachTranslation(TranslationVisitor visitor) {
+        String[] country = new String[1];
+        forEachKey((segment, position, keyLength, countryLength) -> {
+            if (country[0] == null || !matches(segment, position, countryLength, country[0])) {
+                country[0] = string(segment, position, countryLength);
+            }
+            String language = string(segment, position + countryLength + 1, keyLength - countryLength - 1);
+            int valuePosition = position + keyLength;
+            int valueLength = segment.getShort(valuePosition) & SortedTableWriter.MAX_FIELD_LENGTH;
+            visitor.visit(country[0], language, string(segment, valuePosition + Short.BYTES, valueLength));
+        });
+    }
+
+    /**
+     * Returns a cursor which walks the table block by block, holding only the current block's layout
+     * and the current country code.
+     *
+     * @return an iterator over all translations, in key order
+     */
+    @Override
+    public Iterator<TranslationRecord> translations() {
+        return new TableCursor();
+    }
+
+    /**
+     * Receives the location of each key during a scan.
+     */
+    @FunctionalInterface
+    private interface KeyVisitor {
+        void visit(ByteBuffer segment, int position, int keyLength, int countryLength);
+    }
+
+    /**
+     * Walks every entry in order. Blocks are read in place rather than through the block cache, so a
+     * full scan neither evicts the blocks point lookups rely on nor allocates a layout per block.
+     */
+    private void forEachKey(KeyVisitor visitor) {
+        for (int block = 0; block < firstKeys.length; block++) {
+            ByteBuffer segment = segment(block);
+            int position = blockStart(block);
+            int entries = segment.getInt(position);
+            position += Integer.BYTES;
+            for (int i = 0; i < entries; i++) {
+                int keyLength = segment.getShort(position) & SortedTableWriter.MAX_FIELD_LENGTH;
+                int keyPosition = position + Short.BYTES;
+                visitor.visit(segment, keyPosition, keyLength, countryLength(segment, keyPosition, keyLength));
+                position = nextEntry(segment, position);
+            }
+        }
+    }
+
+    private int blockStart(int block) {
+        return (int) (blockOffsets[block] % SortedTableWriter.SEGMENT_SIZE);
+    }
+
+    /**
+     * Returns the position of the entry following the one at the given position.
+     */
+    private static int nextEntry(ByteBuffer segment, int position) {
+        int next = position + Short.BYTES + (segment.getShort(position) & SortedTableWriter.MAX_FIELD_LENGTH);
+        return next + Short.BYTES + (segment.getShort(next) & SortedTableWriter.MAX_FIELD_LENGTH);
+    }
+
+    /**
+     * Returns how many block layouts are currently cached.
+     *
+     * @return the number of cached blocks
+     */
+    int getCachedBlockCount() {
+        synchronized (blockCache) {
+            return blockCache.size();
+        }
+    }
+
+    private static int countryLength(ByteBuffer segment, int keyPosition, int keyLength) {
+        int countryLength = 0;
+        while (countryLength < keyLength
+                && segment.get(keyPosition + countryLength) != SortedTableWriter.SEPARATOR) {
+            countryLength++;
+        }
+        return countryLength;
+    }
+
+    /**
+     * Returns the last block whose first key is not greater than the key.
+     *
+     * @param key the key
+     * @return the index of the block, or -1 if the key is smaller than every key in the table
+     */
+    private int findBlock(byte[] key) {
+        int low = 0;
+        int high = firstKeys.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (Arrays.compareUnsigned(firstKeys[middle], key) <= 0) {
+                found = middle;
+                low = middle + 1;
+            }
+            else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    private int firstEntryAtLeast(int block, byte[] key) {
+        if (firstKeys.length == 0) {
+            return 0;
+        }
+        ByteBuffer segment = segment(block);
+        int[] positions = positions(block);
+        int low = 0;
+        int high = positions.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int position = positions[middle];
+            int keyLength = segment.getShort(position) & SortedTableWriter.MAX_FIELD_LENGTH;
+            if (compare(segment, position + Short.BYTES, keyLength, key) < 0) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private ByteBuffer segment(int block) {
+        return segments[(int) (blockOffsets[block] / SortedTableWriter.SEGMENT_SIZE)];
+    }
+
+    /**
+     * Returns the positions, within its segment, of the entries of a block, decoding them on a cache miss.
+     *
+     * @param block the index of the block
+     * @return the position of each entry
+     */
+    private int[] positions(int block) {
+        synchronized (blockCache) {
+            int[] cached = blockCache.get(block);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        ByteBuffer segment = segment(block);
+        int position = blockStart(block);
+        int[] positions = new int[segment.getInt(position)];
+        position += Integer.BYTES;
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = position;
+            position = nextEntry(segment, position);
+        }
+        synchronized (blockCache) {
+            blockCache.put(block, positions);
+        }
+        return positions;
+    }
+
+    private static int compare(ByteBuffer segment, int position, int length, byte[] key) {
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int comparison = Byte.toUnsignedInt(segment.get(position + i)) - Byte.toUnsignedInt(key[i]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return length - key.length;
+    }
+
+    private static boolean startsWith(ByteBuffer segment, int position, int length, byte[] prefix) {
+        return length >= prefix.length && compare(segment, position, prefix.length, prefix) == 0;
+    }
+
+    /**
+     * Tells whether the bytes hold the given string, without decoding them when the string is ASCII,
+     * which country codes nearly always are.
+     */
+    private static boolean matches(ByteBuffer segment, int position, int length, String value) {
+        boolean ascii = true;
+        for (int i = 0; i < value.length() && ascii; i++) {
+            ascii = value.charAt(i) < 0x80;
+        }
+        if (!ascii) {
+            return string(segment, position, length).equals(value);
+        }
+        if (length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (segment.get(position + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String string(ByteBuffer segment, int position, int length) {
+        byte[] bytes = new byte[length];
+        segment.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A pass over the table in key order. Like {@link #forEachKey(KeyVisitor)} it reads blocks in place,
+     * bypassing the block cache. The country code is only decoded again when it changes.
+     */
+    private final class TableCursor implements Iterator<TranslationRecord> {
+        private int nextBlock;
+        private ByteBuffer segment;
+        private int position;
+        private int remaining;
+        private String country;
+
+        @Override
+        public boolean hasNext() {
+            while (remaining == 0) {
+                if (nextBlock == firstKeys.length) {
+                    return false;
+                }
+                segment = segment(nextBlock);
+                position = blockStart(nextBlock);
+                remaining = segment.getInt(position);
+                position += Integer.BYTES;
+                nextBlock++;
+            }
+            return true;
+        }
+
+        @Override
+        public TranslationRecord next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int keyLength = segment.getShort(position) & SortedTableWriter.MAX_FIELD_LENGTH;
+            int keyPosition = position + Short.BYTES;
+            int countryLength = countryLength(segment, keyPosition, keyLength);
+            if (country == null || !matches(segment, keyPosition, countryLength, country)) {
+                country = string(segment, keyPosition, countryLength);
+            }
+            String language = string(segment, keyPosition + countryLength + 1, keyLength - countryLength - 1);
+            int valuePosition = keyPosition + keyLength;
+            int valueLength = segment.getShort(valuePosition) & SortedTableWriter.MAX_FIELD_LENGTH;
+            String name = string(segment, valuePosition + Short.BYTES, valueLength);
+            position = nextEntry(segment, position);
+            remaining--;
+            return new TranslationRecord(country, language, name);
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,190 @@
+package org.translation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes entries, which must arrive in strictly increasing key order, into the sorted table file
+ * format read by {@link SortedTableTranslator}:
+ * <pre>
+ * header: int magic, int version
+ * blocks: int entry count, then per entry: u16 key length, key, u16 value length, value
+ * index:  per block: long offset, int length, u16 first key length, first key
+ * footer: long index offset, int block count, long entry count, int country count, int magic
+ * </pre>
+ * Keys are the lowercase country code and the language code separated by a zero byte, so all
+ * entries of a country are adjacent and byte order equals (country, language) order. Blocks never
+ * cross a segment boundary, so each one lies within a single memory mapping.
+ */
+final class SortedTableWriter implements AutoCloseable {
+
+    static final int MAGIC = 0x54524e53;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int FOOTER_SIZE = 28;
+    static final int BLOCK_SIZE = 4096;
+    static final long SEGMENT_SIZE = 1L << 30;
+    static final int MAX_FIELD_LENGTH = 0xFFFF;
+    static final byte SEPARATOR = 0;
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE + 2 * (2 + MAX_FIELD_LENGTH) + 4);
+    private final ByteBuffer output = ByteBuffer.allocate(BUFFER_SIZE);
+    private final List<byte[]> firstKeys = new ArrayList<>();
+    private final List<long[]> blockExtents = new ArrayList<>();
+    private long position;
+    private int blockEntries;
+    private byte[] blockFirstKey;
+    private byte[] lastKey;
+    private long entryCount;
+    private int countryCount;
+
+    /**
+     * Creates or truncates the file and writes the header.
+     *
+     * @param file the file to write
+     * @throws IOException if the file can't be written
+     */
+    SortedTableWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        output.putInt(MAGIC).putInt(VERSION);
+        position = HEADER_SIZE;
+        block.putInt(0);
+    }
+
+    /**
+     * Encodes a country code and a language code into a table key.
+     *
+     * @param country the country code, lowercased by this method
+     * @param language the language code
+     * @return the key
+     */
+    static byte[] key(String country, String language) {
+        byte[] code = country.toLowerCase().getBytes(StandardCharsets.UTF_8);
+        byte[] lang = language.getBytes(StandardCharsets.UTF_8);
+        byte[] key = Arrays.copyOf(code, code.length + 1 + lang.length);
+        key[code.length] = SEPARATOR;
+        System.arraycopy(lang, 0, key, code.length + 1, lang.length);
+        return key;
+    }
+
+    /**
+     * Returns the length of the country part of a key.
+     *
+     * @param key the key
+     * @return the index of the separator
+     */
+    static int countryLength(byte[] key) {
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] == SEPARATOR) {
+                return i;
+            }
+        }
+        return key.length;
+    }
+
+    /**
+     * Appends an entry.
+     *
+     * @param key the key, greater than the key of the previous entry
+     * @param value the value
+     * @throws IOException if the file can't be written
+     * @throws IllegalArgumentException if the key is out of order or a field is too long
+     */
+    void add(byte[] key, byte[] value) throws IOException {
+        if (key.length > MAX_FIELD_LENGTH || value.length > MAX_FIELD_LENGTH) {
+            throw new IllegalArgumentException("Keys and values are limited to " + MAX_FIELD_LENGTH + " bytes");
+        }
+        if (lastKey != null && Arrays.compareUnsigned(lastKey, key) >= 0) {
+            throw new IllegalArgumentException("Keys must be added in strictly increasing order");
+        }
+        if (lastKey == null || !Arrays.equals(lastKey, 0, countryLength(lastKey), key, 0, countryLength(key))) {
+            countryCount++;
+        }
+        if (blockEntries == 0) {
+            blockFirstKey = key;
+        }
+        block.putShort((short) key.length).put(key).putShort((short) value.length).put(value);
+        blockEntries++;
+        entryCount++;
+        lastKey = key;
+        if (block.position() >= BLOCK_SIZE) {
+            finishBlock();
+        }
+    }
+
+    /**
+     * Writes the last block, the index and the footer, and closes the file.
+     *
+     * @throws IOException if the file can't be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (blockEntries > 0) {
+                finishBlock();
+            }
+            long indexOffset = position;
+            for (int i = 0; i < firstKeys.size(); i++) {
+                byte[] firstKey = firstKeys.get(i);
+                ensureRoom(Long.BYTES + Integer.BYTES + Short.BYTES + firstKey.length);
+                output.putLong(blockExtents.get(i)[0]).putInt((int) blockExtents.get(i)[1])
+                        .putShort((short) firstKey.length).put(firstKey);
+            }
+            ensureRoom(FOOTER_SIZE);
+            output.putLong(indexOffset).putInt(firstKeys.size()).putLong(entryCount).putInt(countryCount)
+                    .putInt(MAGIC);
+            drain();
+        }
+        finally {
+            channel.close();
+        }
+    }
+
+    private void finishBlock() throws IOException {
+        block.putInt(0, blockEntries);
+        block.flip();
+        int length = block.remaining();
+        // Pad so the block doesn't straddle two memory mappings
+        long segmentEnd = (position / SEGMENT_SIZE + 1) * SEGMENT_SIZE;
+        if (position + length > segmentEnd) {
+            while (position < segmentEnd) {
+                ensureRoom(1);
+                output.put((byte) 0);
+                position++;
+            }
+        }
+        firstKeys.add(blockFirstKey);
+        blockExtents.add(new long[] {position, length});
+        ensureRoom(length);
+        output.put(block);
+        position += length;
+        block.clear();
+        block.putInt(0);
+        blockEntries = 0;
+    }
+
+    private void ensureRoom(int length) throws IOException {
+        if (output.remaining() < length) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        output.flip();
+        while (output.hasRemaining()) {
+            channel.write(output);
+        }
+        output.clear();
+    }
+}
@@ -0,0 +1,54 @@
+package org.translation;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Walks the views of a {@link Translator} one record at a time, see {@link Translator#translations()}.
+ * The language list of the current country is looked up once per country, not once per record.
+ */
+final class TranslationCursor implements Iterator<TranslationRecord> {
+
+    private final Translator translator;
+    private final List<String> countries;
+    private int countryIndex;
+    private List<String> languages;
+    private int languageIndex;
+
+    /**
+     * Constructs a cursor positioned before the first translation.
+     *
+     * @param translator the translator to walk
+     */
+    TranslationCursor(Translator translator) {
+        this.translator = translator;
+        this.countries = translator.countries();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (countryIndex < countries.size()) {
+            if (languages == null) {
+                languages = translator.countryLanguages(countries.get(countryIndex));
+            }
+            if (languageIndex < languages.size()) {
+                return true;
+            }
+            countryIndex++;
+            languageIndex = 0;
+            languages = null;
+        }
+        return false;
+    }
+
+    @Override
+    public TranslationRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String country = countries.get(countryIndex);
+        String language = languages.get(languageIndex++);
+        return new TranslationRecord(country, language, translator.translate(country, language));
+    }
+}
@@ -0,0 +1,144 @@
+package org.translation;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes every (country, language, name) triple of a {@link Translator} as a {@link TranslationRecord}.
+ * Records are produced on demand from the translator's {@link Translator#translations()} cursor, so a
+ * subscription only ever holds its position and its outstanding demand: nothing is buffered ahead of what the
+ * subscriber requested, however large the translator and however slow the subscriber.
+ */
+public class TranslationPublisher implements Flow.Publisher<TranslationRecord> {
+
+    private final Translator translator;
+    private final Executor executor;
+
+    /**
+     * Constructs a publisher which delivers records on the thread that requests them.
+     *
+     * @param translator the translator whose translations are published
+     */
+    public TranslationPublisher(Translator translator) {
+        this(translator, Runnable::run);
+    }
+
+    /**
+     * Constructs a publisher which delivers records on the given executor.
+     *
+     * @param translator the translator whose translations are published
+     * @param executor the executor delivering the records
+     */
+    public TranslationPublisher(Translator translator, Executor executor) {
+        this.translator = translator;
+        this.executor = executor;
+    }
+
+    /**
+     * Subscribes to all translations. Each subscriber gets its own pass over the translator.
+     *
+     * @param subscriber the subscriber receiving the records
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super TranslationRecord> subscriber) {
+        RecordSubscription subscription = new RecordSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * A pass over the translator. Signals are serialized by a work-in-progress counter: whichever
+     * thread raises it from zero drains, the others only tell it to loop once more.
+     */
+    private final class RecordSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super TranslationRecord> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger workInProgress = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+
+        // Only accessed while draining
+        private Iterator<TranslationRecord> cursor;
+        private boolean done;
+
+        RecordSubscription(Flow.Subscriber<? super TranslationRecord> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested " + n + " records, must be positive");
+            }
+            else {
+                demand.getAndAccumulate(n, TranslationPublisher::addCapped);
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void signal() {
+            if (workInProgress.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                try {
+                    emit();
+                }
+                catch (RuntimeException ex) {
+                    fail(ex);
+                }
+                missed = workInProgress.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            if (done || cancelled) {
+                return;
+            }
+            if (invalidRequest != null) {
+                fail(invalidRequest);
+                return;
+            }
+            if (cursor == null) {
+                cursor = translator.translations();
+            }
+            while (!cancelled && demand.get() > 0 && cursor.hasNext()) {
+                demand.decrementAndGet();
+                subscriber.onNext(cursor.next());
+            }
+            // Completes as soon as the records run out, even if no further demand arrives
+            if (!cancelled && !cursor.hasNext()) {
+                done = true;
+                subscriber.onComplete();
+            }
+        }
+
+        private void fail(Throwable error) {
+            if (!done) {
+                done = true;
+                cancelled = true;
+                subscriber.onError(error);
+            }
+        }
+    }
+
+    private static long addCapped(long current, long n) {
+        long sum = current + n;
+        if (sum < 0) {
+            return Long.MAX_VALUE;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,56 @@
+package org.translation;
+
+/**
+ * A single translation: the name of a country in one language.
+ */
+public final class TranslationRecord {
+
+    private final String country;
+    private final String language;
+    private final String name;
+
+    /**
+     * Constructs a record.
+     *
+     * @param country the country code
+     * @param language the language code
+     * @param name the name of the country in the language
+     */
+    public TranslationRecord(String country, String language, String name) {
+        this.country = country;
+        this.language = language;
+        this.name = name;
+    }
+
+    /**
+     * Returns the country code.
+     *
+     * @return the country code
+     */
+    public String getCountry() {
+        return country;
+    }
+
+    /**
+     * Returns the language code.
+     *
+     * @return the language code
+     */
+    public String getLanguage() {
+        return language;
+    }
+
+    /**
+     * Returns the name of the country in the language.
+     *
+     * @return the translated name, or null if the translator has none
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return country + "/" + language + ": " + name;
+    }
+}
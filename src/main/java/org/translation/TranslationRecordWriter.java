@@ -0,0 +1,160 @@
+package org.translation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * A subscriber which writes the records of a {@link TranslationPublisher} to a channel as UTF-8 text.
+ * Records are requested in fixed batches and encoded into a fixed-size buffer which is written to the
+ * channel whenever it fills up, so memory use does not depend on how many records are written.
+ * The channel is not closed by the writer.
+ */
+public abstract class TranslationRecordWriter implements Flow.Subscriber<TranslationRecord> {
+
+    /**
+     * How many records are requested at a time.
+     */
+    public static final int BATCH_SIZE = 256;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final StringBuilder line = new StringBuilder();
+    private final CompletableFuture<Long> result = new CompletableFuture<>();
+    private Flow.Subscription subscription;
+    private long written;
+    private int remainingInBatch;
+
+    /**
+     * Constructs a writer.
+     *
+     * @param channel the channel to write to
+     */
+    protected TranslationRecordWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Returns a future which completes with the number of records written once all of them are in
+     * the channel, or exceptionally if publishing or writing failed.
+     *
+     * @return the result of the export
+     */
+    public CompletableFuture<Long> getResult() {
+        return result;
+    }
+
+    /**
+     * Appends the text written before the first record, if any.
+     *
+     * @param out the text to append to
+     */
+    protected abstract void formatHeader(StringBuilder out);
+
+    /**
+     * Appends the text of a single record, including its line separator.
+     *
+     * @param record the record
+     * @param out the text to append to
+     */
+    protected abstract void format(TranslationRecord record, StringBuilder out);
+
+    @Override
+    public void onSubscribe(Flow.Subscription newSubscription) {
+        if (subscription != null) {
+            newSubscription.cancel();
+            return;
+        }
+        subscription = newSubscription;
+        try {
+            line.setLength(0);
+            formatHeader(line);
+            write(line);
+        }
+        catch (IOException ex) {
+            abort(ex);
+            return;
+        }
+        remainingInBatch = BATCH_SIZE;
+        subscription.request(BATCH_SIZE);
+    }
+
+    @Override
+    public void onNext(TranslationRecord record) {
+        if (result.isDone()) {
+            return;
+        }
+        try {
+            line.setLength(0);
+            format(record, line);
+            write(line);
+            written++;
+        }
+        catch (IOException ex) {
+            abort(ex);
+            return;
+        }
+        remainingInBatch--;
+        if (remainingInBatch == 0) {
+            remainingInBatch = BATCH_SIZE;
+            subscription.request(BATCH_SIZE);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        result.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        try {
+            flush();
+            encoder.encode(CharBuffer.allocate(0), buffer, true);
+            encoder.flush(buffer);
+            flush();
+            result.complete(written);
+        }
+        catch (IOException ex) {
+            result.completeExceptionally(ex);
+        }
+    }
+
+    private void abort(IOException ex) {
+        subscription.cancel();
+        result.completeExceptionally(ex);
+    }
+
+    private void write(CharSequence text) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(text);
+        while (true) {
+            CoderResult coderResult = encoder.encode(chars, buffer, false);
+            if (coderResult.isOverflow()) {
+                flush();
+            }
+            else if (coderResult.isError()) {
+                coderResult.throwException();
+            }
+            else {
+                return;
+            }
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,75 @@
+package org.translation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable translation data of a {@link JSONTranslator}: for every country code its translations
+ * by language code, plus sorted views of the country and language codes which are computed once
+ * so that enumerating them never copies. Instances are shared through the {@link DatasetRegistry}.
+ */
+final class TranslationTable {
+
+    private final List<String> countries;
+    private final Map<String, List<String>> languages;
+    private final Map<String, Map<String, String>> translations;
+
+    /**
+     * Builds the table from parsed translation data.
+     *
+     * @param countryTranslations map from lowercase country code to its language-to-name map
+     */
+    TranslationTable(Map<String, Map<String, String>> countryTranslations) {
+        Map<String, List<String>> languageViews = new HashMap<>();
+        Map<String, Map<String, String>> translationCopies = new HashMap<>();
+        for (Map.Entry<String, Map<String, String>> entry : countryTranslations.entrySet()) {
+            List<String> countryLanguages = new ArrayList<>(entry.getValue().keySet());
+            Collections.sort(countryLanguages);
+            languageViews.put(entry.getKey(), List.copyOf(countryLanguages));
+            translationCopies.put(entry.getKey(), Map.copyOf(entry.getValue()));
+        }
+        List<String> countryCodes = new ArrayList<>(countryTranslations.keySet());
+        Collections.sort(countryCodes);
+
+        this.countries = List.copyOf(countryCodes);
+        this.languages = Map.copyOf(languageViews);
+        this.translations = Map.copyOf(translationCopies);
+    }
+
+    /**
+     * Returns the sorted country codes.
+     *
+     * @return unmodifiable sorted list of country codes
+     */
+    List<String> countries() {
+        return countries;
+    }
+
+    /**
+     * Returns the sorted language codes of a country.
+     *
+     * @param country the lowercase country code
+     * @return unmodifiable sorted list of language codes, empty if the country is unknown
+     */
+    List<String> languages(String country) {
+        return languages.getOrDefault(country, List.of());
+    }
+
+    /**
+     * Returns the translation of a country.
+     *
+     * @param country the lowercase country code
+     * @param language the language code
+     * @return the name of the country in the language or null if there is none
+     */
+    String translate(String country, String language) {
+        Map<String, String> countryTranslations = translations.get(country);
+        if (countryTranslations == null) {
+            return null;
+        }
+        return countryTranslations.get(language);
+    }
+}
@@ -0,0 +1,17 @@
+package org.translation;
+
+/**
+ * Receives the translations of a {@link Translator} one at a time, see
+ * {@link Translator#forEachTranslation(TranslationVisitor)}.
+ */
+@FunctionalInterface
+public interface TranslationVisitor {
+
+    /**
+     * Called once for every available translation.
+     * @param country the country code
+     * @param language the language code
+     * @param translation the name of the country in the language
+     */
+    void visit(String country, String language, String translation);
+}
@@ -1,10 +1,15 @@
 package org.translation;
 
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 /**
  * An interface providing methods related to translating country names between
  * different languages.<br/>
+ * Besides the copying getters, it offers read-only views, counts and a visitor which
+ * implementations can serve without allocating, for callers which enumerate the
+ * translations repeatedly.
  */
 public interface Translator {
 
@@ -30,4 +35,67 @@ public interface Translator {
      * @return the name of the country in the given language or null if no translation is available
      */
     String translate(String country, String language);
+
+    /**
+     * Returns an unmodifiable view of the country codes, in the same order as {@link #getCountries()}.
+     * Implementations should return a cached list, so that repeated calls don't copy anything.
+     * @return unmodifiable list of country codes for which we have translations available
+     */
+    default List<String> countries() {
+        return Collections.unmodifiableList(getCountries());
+    }
+
+    /**
+     * Returns an unmodifiable view of the language codes available for the given country.
+     * Implementations should return a cached list, so that repeated calls don't copy anything.
+     * @param country the country
+     * @return unmodifiable list of language codes which are available for this country
+     */
+    default List<String> countryLanguages(String country) {
+        return Collections.unmodifiableList(getCountryLanguages(country));
+    }
+
+    /**
+     * Returns how many countries have translations available from this Translator.
+     * @return the number of countries
+     */
+    default int getNumCountries() {
+        return countries().size();
+    }
+
+    /**
+     * Returns how many languages have a translation available for the given country.
+     * @param country the country
+     * @return the number of languages for this country
+     */
+    default int getNumCountryLanguages(String country) {
+        return countryLanguages(country).size();
+    }
+
+    /**
+     * Calls the visitor for every country, every language available for it and its translation.
+     * @param visitor the visitor receiving the translations
+     */
+    default void forEachTranslation(TranslationVisitor visitor) {
+        // Indexed loops, so that enumerating random access views doesn't create iterators
+        List<String> countries = countries();
+        for (int i = 0; i < countries.size(); i++) {
+            String country = countries.get(i);
+            List<String> languages = countryLanguages(country);
+            for (int j = 0; j < languages.size(); j++) {
+                String language = languages.get(j);
+                visitor.visit(country, language, translate(country, language));
+            }
+        }
+    }
+
+    /**
+     * Returns a cursor over every translation, in the same order as {@link #forEachTranslation(TranslationVisitor)},
+     * for callers which pull translations at their own pace. Implementations whose data doesn't live on the
+     * heap should override it, so that a pass holds only its position.
+     * @return an iterator over all translations
+     */
+    default Iterator<TranslationRecord> translations() {
+        return new TranslationCursor(this);
+    }
 }
@@ -0,0 +1,93 @@
+package org.translation;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class BKTreeTest {
+
+    @Test
+    public void searchFindsNamesWithinDistance() {
+        BKTree<String> tree = new BKTree.Builder<String>()
+                .add("Canada", "can")
+                .add("Chad", "tcd")
+                .add("Ghana", "gha")
+                .add("Panama", "pan")
+                .build();
+
+        List<BKTree.Match<String>> matches = tree.search("canda", 1);
+        assertEquals(1, matches.size());
+        assertEquals("can", matches.get(0).getValue());
+        assertEquals(1, matches.get(0).getDistance());
+
+        assertTrue(tree.search("Xyzzy", 1).isEmpty());
+    }
+
+    @Test
+    public void searchOrdersClosestFirst() {
+        BKTree<String> tree = new BKTree.Builder<String>()
+                .add("Austria", "aut")
+                .add("Australia", "aus")
+                .build();
+
+        List<BKTree.Match<String>> matches = tree.search("Austrlia", 2);
+        assertEquals("aus", matches.get(0).getValue());
+        assertEquals("aut", matches.get(1).getValue());
+    }
+
+    @Test
+    public void duplicateNamesKeepFirstValue() {
+        BKTree<String> tree = new BKTree.Builder<String>()
+                .add("Canada", "can")
+                .add("CANADA", "other")
+                .build();
+        assertEquals(1, tree.size());
+        assertEquals("can", tree.closest("canada", 0).getValue());
+    }
+
+    @Test
+    public void builtTreeIsNotChangedByLaterAdditions() {
+        BKTree.Builder<String> builder = new BKTree.Builder<String>().add("Canada", "can");
+        BKTree<String> tree = builder.build();
+        builder.add("Canadb", "other");
+        assertEquals(1, tree.size());
+        assertEquals(1, tree.search("Canada", 1).size());
+        assertEquals(1, builder.build().size());
+    }
+
+    @Test
+    public void searchMatchesBruteForce() {
+        CountryCodeConverter converter = new CountryCodeConverter();
+        BKTree<String> tree = converter.getNameIndex();
+        for (String query : List.of("Canda", "Frnace", "Germny", "Jpan", "Brazl", "Unted Kingdom", "Niger", "Mali")) {
+            int[] key = query.toLowerCase().codePoints().toArray();
+            Map<String, Integer> expected = new TreeMap<>();
+            converter.forEachCountry((code, name) -> {
+                String normalized = name.trim().toLowerCase();
+                int distance = BKTree.distance(normalized.codePoints().toArray(), key);
+                if (distance <= 2) {
+                    expected.put(normalized, distance);
+                }
+            });
+
+            Map<String, Integer> found = new TreeMap<>();
+            for (BKTree.Match<String> match : tree.search(query, 2)) {
+                assertNull("Found twice: " + match, found.put(match.getName().trim().toLowerCase(),
+                        match.getDistance()));
+            }
+            assertEquals(query, expected, found);
+        }
+    }
+
+    @Test
+    public void countryNameIndexCoversTranslations() {
+        BKTree<String> index = Main.buildCountryNameIndex(new JSONTranslator(), new CountryCodeConverter());
+        assertEquals("can", index.closest("Kanada", 0).getValue());
+        assertEquals("deu", index.closest("Deutschlnd", 1).getValue());
+        assertEquals("can", index.closest("Canda", Main.MAX_TYPO_DISTANCE).getValue());
+    }
+}
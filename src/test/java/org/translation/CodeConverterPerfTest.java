@@ -0,0 +1,84 @@
+package org.translation;
+
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+public class CodeConverterPerfTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int OPERATIONS = 200_000;
+    private static final int LOAD_WARMUP = 5;
+    private static final int LOADS = 50;
+
+    private int sink;
+
+    private String resource(String name) throws Exception {
+        return Files.readString(Paths.get(getClass().getClassLoader().getResource(name).toURI()));
+    }
+
+    @Test
+    public void countryLookupsStayWithinBudget() {
+        CountryCodeConverter converter = new CountryCodeConverter();
+        OperationMeter.measure("CountryCodeConverter.fromCountryCode", WARMUP, OPERATIONS,
+                () -> sink += converter.fromCountryCode("usa").length())
+                .assertNoAllocation()
+                .assertNanosPerOperation(2_000);
+        OperationMeter.measure("CountryCodeConverter.fromCountry", WARMUP, OPERATIONS,
+                () -> sink += converter.fromCountry("canada").length())
+                .assertNoAllocation()
+                .assertNanosPerOperation(2_000);
+        // Mixed case input has to be lowercased into a new string first
+        OperationMeter.measure("CountryCodeConverter.fromCountry mixed case", WARMUP, OPERATIONS,
+                () -> sink += converter.fromCountry("Canada").length())
+                .assertBytesPerOperation(64)
+                .assertNanosPerOperation(4_000);
+    }
+
+    @Test
+    public void languageLookupsStayWithinBudget() {
+        LanguageCodeConverter converter = new LanguageCodeConverter();
+        OperationMeter.measure("LanguageCodeConverter.fromLanguageCode", WARMUP, OPERATIONS,
+                () -> sink += converter.fromLanguageCode("en").length())
+                .assertNoAllocation()
+                .assertNanosPerOperation(2_000);
+        OperationMeter.measure("LanguageCodeConverter.fromLanguage", WARMUP, OPERATIONS,
+                () -> sink += converter.fromLanguage("english").length())
+                .assertNoAllocation()
+                .assertNanosPerOperation(2_000);
+    }
+
+    @Test
+    public void typoSuggestionsStayWithinBudget() {
+        CountryCodeConverter converter = new CountryCodeConverter();
+        OperationMeter.measure("CountryCodeConverter.suggestCountries", 1_000, 10_000,
+                () -> sink += converter.suggestCountries("Canda", 2).size())
+                .assertBytesPerOperation(100_000)
+                .assertNanosPerOperation(200_000);
+    }
+
+    @Test
+    public void parsingStaysWithinBudget() throws Exception {
+        String countries = resource("country-codes.txt");
+        String languages = resource("language-codes.txt");
+        OperationMeter.measure("CodeTable parse country-codes.txt", LOAD_WARMUP, LOADS,
+                () -> sink += CodeTable.parse(countries, 2, 4).size())
+                .assertBytesPerOperation(500_000)
+                .assertNanosPerOperation(5_000_000);
+        OperationMeter.measure("CodeTable parse language-codes.txt", LOAD_WARMUP, LOADS,
+                () -> sink += CodeTable.parse(languages, 1, 2).size())
+                .assertBytesPerOperation(500_000)
+                .assertNanosPerOperation(5_000_000);
+    }
+
+    @Test
+    public void sharedLoadStaysWithinBudget() {
+        CountryCodeConverter held = new CountryCodeConverter();
+        OperationMeter.measure("new CountryCodeConverter() while shared", LOAD_WARMUP, LOADS,
+                () -> sink += new CountryCodeConverter().getNumCountries())
+                .assertBytesPerOperation(16_000)
+                .assertNanosPerOperation(2_000_000);
+        sink += held.getNumCountries();
+    }
+}
@@ -17,4 +17,10 @@ public class CountryCodeConverterTest {
         CountryCodeConverter converter = new CountryCodeConverter();
         assertEquals(249, converter.getNumCountries());
     }
+
+    @Test
+    public void suggestCountriesForTypo() {
+        CountryCodeConverter converter = new CountryCodeConverter();
+        assertEquals("can", converter.suggestCountries("Canda", 1).get(0).getValue());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package org.translation;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class CountryMentionMatcherPerfTest {
+
+    private static final int TEXT_LENGTH = 300_000;
+    private static final int SHORT_NAME_TOKENS = 10;
+    private static final int LONG_NAME_TOKENS = 1_000;
+    // A name a hundred times longer may not make the scan more than a few times slower per code point
+    private static final double MAX_SLOWDOWN = 3;
+
+    private int sink;
+
+    /**
+     * Builds a matcher for "ab" and for "ab ab ... ab c", whose prefix stays alive over a text of "ab ab ...".
+     * Every "ab" in the text is a mention which is only certain once the long name's partial match dies.
+     */
+    private static CountryMentionMatcher matcher(int tokens) {
+        Map<String, Map<String, String>> translations = new HashMap<>();
+        translations.put("xab", Map.of("en", "ab"));
+        translations.put("xlg", Map.of("en", "ab ".repeat(tokens) + "c"));
+        return new CountryMentionMatcher(new JSONTranslator(translations), new CountryCodeConverter());
+    }
+
+    @Test
+    public void scanIsLinearWhateverTheNameLength() {
+        String text = "ab ".repeat(TEXT_LENGTH / 3);
+        CountryMentionMatcher shortNames = matcher(SHORT_NAME_TOKENS);
+        CountryMentionMatcher longNames = matcher(LONG_NAME_TOKENS);
+        assertEquals(TEXT_LENGTH / 3, shortNames.findAll(text).size());
+        assertEquals(TEXT_LENGTH / 3, longNames.findAll(text).size());
+
+        OperationMeter shortScan = OperationMeter.measure("CountryMentionMatcher " + SHORT_NAME_TOKENS + " token name",
+                2, 5, () -> sink += shortNames.findAll(text).size());
+        OperationMeter longScan = OperationMeter.measure("CountryMentionMatcher " + LONG_NAME_TOKENS + " token name",
+                2, 5, () -> sink += longNames.findAll(text).size());
+        shortScan.assertNanosPerOperation(TEXT_LENGTH * 1_000.0);
+        longScan.assertNanosPerOperation(TEXT_LENGTH * 1_000.0);
+        assertTrue("Scanning with the long name took " + longScan.nanosPerOperation() + " ns, with the short one "
+                        + shortScan.nanosPerOperation() + " ns",
+                longScan.nanosPerOperation() <= shortScan.nanosPerOperation() * MAX_SLOWDOWN);
+    }
+}
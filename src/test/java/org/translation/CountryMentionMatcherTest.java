@@ -0,0 +1,140 @@
+package org.translation;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CountryMentionMatcherTest {
+
+    private final CountryMentionMatcher matcher =
+            new CountryMentionMatcher(new JSONTranslator(), new CountryCodeConverter());
+
+    @Test
+    public void findsMentionsInAnyLanguageIgnoringCase() {
+        List<CountryMention> mentions = matcher.findAll("From CANADA to Deutschland via la France.");
+        assertEquals(3, mentions.size());
+        assertEquals("can", mentions.get(0).getCountry());
+        assertEquals(5, mentions.get(0).getStart());
+        assertEquals(11, mentions.get(0).getEnd());
+        assertEquals("CANADA", mentions.get(0).getText());
+        assertEquals("deu", mentions.get(1).getCountry());
+        assertEquals("fra", mentions.get(2).getCountry());
+    }
+
+    @Test
+    public void respectsWordBoundaries() {
+        assertTrue(matcher.findAll("Omanis and Chadians").isEmpty());
+        assertEquals(2, matcher.findAll("Oman, Oman's coast").size());
+    }
+
+    @Test
+    public void prefersLeftmostLongest() {
+        List<CountryMention> mentions = matcher.findAll("Guinea-Bissau and Guinea");
+        assertEquals(2, mentions.size());
+        assertEquals("Guinea-Bissau", mentions.get(0).getText());
+        assertEquals("gnb", mentions.get(0).getCountry());
+        assertEquals("gin", mentions.get(1).getCountry());
+
+        // A longer name sharing a prefix must not hide a match after the shorter one
+        Map<String, Map<String, String>> translations = new HashMap<>();
+        translations.put("gin", Map.of("en", "Guinea", "fr", "Guinée"));
+        translations.put("xxx", Map.of("en", "Guinea Chad Republic"));
+        translations.put("tcd", Map.of("en", "Chad", "fr", "Tchad"));
+        CountryMentionMatcher prefixMatcher =
+                new CountryMentionMatcher(new JSONTranslator(translations), new CountryCodeConverter());
+        mentions = prefixMatcher.findAll("Guinea Chad zzz");
+        assertEquals(2, mentions.size());
+        assertEquals("gin", mentions.get(0).getCountry());
+        assertEquals(0, mentions.get(0).getStart());
+        assertEquals(6, mentions.get(0).getEnd());
+        assertEquals("tcd", mentions.get(1).getCountry());
+        assertEquals(7, mentions.get(1).getStart());
+        assertEquals(11, mentions.get(1).getEnd());
+        assertEquals("Guinée Tchad zzz", prefixMatcher.rewrite("Guinea Chad zzz", "fr"));
+        assertEquals("Guinée Tchad", prefixMatcher.rewrite("Guinea Chad", "fr"));
+        assertEquals("Guinea Chad Republic", prefixMatcher.rewrite("Guinea Chad Republic", "fr"));
+    }
+
+    @Test
+    public void matchesNaiveLeftmostLongest() {
+        List<String> names = List.of("ab", "ab ab", "ab ab ab c", "b", "ba b a", "a b b", "bab");
+        Map<String, Map<String, String>> translations = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            translations.put("x" + i, Map.of("en", names.get(i)));
+        }
+        CountryMentionMatcher wordMatcher =
+                new CountryMentionMatcher(new JSONTranslator(translations), new CountryCodeConverter());
+        Random random = new Random(42);
+        for (int round = 0; round < 500; round++) {
+            StringBuilder text = new StringBuilder();
+            for (int i = random.nextInt(40); i > 0; i--) {
+                text.append("ab c".charAt(random.nextInt(4)));
+            }
+            List<String> expected = new ArrayList<>();
+            int position = 0;
+            while (position < text.length()) {
+                int end = -1;
+                if (position == 0 || !Character.isLetter(text.charAt(position - 1))) {
+                    for (String name : names) {
+                        int nameEnd = position + name.length();
+                        if (nameEnd > end && text.indexOf(name, position) == position
+                                && (nameEnd == text.length() || !Character.isLetter(text.charAt(nameEnd)))) {
+                            end = nameEnd;
+                        }
+                    }
+                }
+                if (end < 0) {
+                    position++;
+                }
+                else {
+                    expected.add(position + "-" + end);
+                    position = end;
+                }
+            }
+            List<String> found = new ArrayList<>();
+            for (CountryMention mention : wordMatcher.findAll(text)) {
+                found.add(mention.getStart() + "-" + mention.getEnd());
+            }
+            assertEquals(text.toString(), expected, found);
+        }
+    }
+
+    @Test
+    public void findsNamesInScriptsWithoutSpaces() {
+        List<CountryMention> mentions = matcher.findAll("我住在加拿大。");
+        assertEquals(1, mentions.size());
+        assertEquals("can", mentions.get(0).getCountry());
+        assertEquals(3, mentions.get(0).getStart());
+    }
+
+    @Test
+    public void rewritesMentions() {
+        assertEquals("Von Kanada nach Frankreich!", matcher.rewrite("Von Canada nach France!", "de"));
+        assertEquals("Visit Canada", matcher.rewrite("Visit 加拿大", "en"));
+    }
+
+    @Test
+    public void scansLargeStreamingInput() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            text.append("Line ").append(i).append(": Japan and Brasil.\n");
+        }
+        List<CountryMention> mentions = new ArrayList<>();
+        matcher.scan(new StringReader(text.toString()), mentions::add);
+        assertEquals(10_000, mentions.size());
+        CountryMention last = mentions.get(mentions.size() - 1);
+        assertEquals("Brasil", text.substring((int) last.getStart(), (int) last.getEnd()));
+
+        StringWriter out = new StringWriter();
+        matcher.rewrite(new StringReader(text.toString()), out, "fr");
+        assertEquals(text.toString().replace("Japan", "Japon").replace("Brasil", "Brésil"), out.toString());
+    }
+}
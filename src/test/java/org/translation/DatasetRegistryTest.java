@@ -0,0 +1,103 @@
+package org.translation;
+
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class DatasetRegistryTest {
+
+    private final DatasetRegistry registry = DatasetRegistry.getInstance();
+
+    @Test
+    public void acquireParsesOnceAndShares() {
+        AtomicInteger parses = new AtomicInteger();
+        DatasetRegistry.Lease<String> first = registry.acquire("test-share", "sample.json",
+                content -> "parse " + parses.incrementAndGet());
+        DatasetRegistry.Lease<String> second = registry.acquire("test-share", "sample.json",
+                content -> "parse " + parses.incrementAndGet());
+
+        assertSame(first.get(), second.get());
+        assertEquals(1, parses.get());
+        assertEquals(2, registry.referenceCount("test-share", "sample.json"));
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void closingLastLeaseReleasesDataset() {
+        AtomicInteger parses = new AtomicInteger();
+        DatasetRegistry.Lease<Integer> lease = registry.acquire("test-release", "country-codes.txt",
+                content -> parses.incrementAndGet());
+        lease.close();
+        lease.close();
+        assertEquals(0, registry.referenceCount("test-release", "country-codes.txt"));
+
+        DatasetRegistry.Lease<Integer> again = registry.acquire("test-release", "country-codes.txt",
+                content -> parses.incrementAndGet());
+        assertEquals(Integer.valueOf(2), again.get());
+        again.close();
+    }
+
+    @Test
+    public void kindsAreKeptApart() {
+        DatasetRegistry.Lease<String> lines = registry.acquire("test-lines", "language-codes.txt",
+                content -> "lines");
+        DatasetRegistry.Lease<String> words = registry.acquire("test-words", "language-codes.txt",
+                content -> "words");
+        assertEquals("lines", lines.get());
+        assertEquals("words", words.get());
+        lines.close();
+        words.close();
+    }
+
+    @Test
+    public void constructorsShareDatasets() {
+        JSONTranslator first = new JSONTranslator();
+        JSONTranslator second = new JSONTranslator();
+        assertTrue(registry.referenceCount(JSONTranslator.DATASET_KIND, "sample.json") >= 2);
+        assertEquals(first.translate("can", "fr"), second.translate("can", "fr"));
+    }
+
+    @Test
+    public void changedResourceIsParsedAgain() throws Exception {
+        Path root = Paths.get(getClass().getClassLoader().getResource("sample.json").toURI()).getParent();
+        Path file = root.resolve("registry-test.txt");
+        try {
+            Files.writeString(file, "first");
+            DatasetRegistry.Lease<String> first = registry.acquire("test-change", "registry-test.txt",
+                    content -> content);
+            DatasetRegistry.Lease<String> unchanged = registry.acquire("test-change", "registry-test.txt",
+                    content -> "parsed again");
+            assertSame(first.get(), unchanged.get());
+
+            // Same size and, on a coarse clock, the same modification time
+            FileTime lastModified = Files.getLastModifiedTime(file);
+            Files.writeString(file, "other");
+            Files.setLastModifiedTime(file, lastModified);
+            DatasetRegistry.Lease<String> changed = registry.acquire("test-change", "registry-test.txt",
+                    content -> content);
+            assertEquals("other", changed.get());
+            assertEquals("first", first.get());
+
+            first.close();
+            unchanged.close();
+            assertTrue(registry.remembersHash("registry-test.txt"));
+            changed.close();
+            assertFalse(registry.remembersHash("registry-test.txt"));
+        }
+        finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void missingResourceFails() {
+        registry.acquire("test-missing", "missing.json", content -> content);
+    }
+}
@@ -0,0 +1,98 @@
+package org.translation;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Compares loading a large dataset from one file on a single thread with loading the same
+ * dataset split over several files through {@link JSONTranslatorLoader}.
+ * The single file baseline takes the same path as {@link JSONTranslator#JSONTranslator(String)},
+ * reading the whole file, parsing it with {@link JSONTranslator#parseJSONData(JSONArray)} and building
+ * the translator, but skips the {@link DatasetRegistry}: the constructor only loads classpath resources,
+ * and after the first run it would hand out the already parsed dataset instead of parsing again.
+ * It is not a unit test; run its main method from the test classpath after mvn test-compile.
+ * The generated files are deleted when it finishes.
+ */
+public class JSONTranslatorLoaderBenchmark {
+
+    private static final int COPIES = 200;
+    private static final int FILES = 32;
+    private static final int WARMUP = 3;
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws Exception {
+        JSONArray sample = new JSONArray(Files.readString(Paths.get(
+                JSONTranslatorLoaderBenchmark.class.getClassLoader().getResource("sample.json").toURI())));
+
+        Path directory = Files.createTempDirectory("translations");
+        Path single = Files.createTempFile("translations", ".json");
+        try {
+            JSONArray all = new JSONArray();
+            JSONArray[] parts = new JSONArray[FILES];
+            for (int i = 0; i < FILES; i++) {
+                parts[i] = new JSONArray();
+            }
+            for (int copy = 0; copy < COPIES; copy++) {
+                for (int i = 0; i < sample.length(); i++) {
+                    JSONObject country = new JSONObject(sample.getJSONObject(i).toMap());
+                    country.put("alpha3", country.getString("alpha3") + copy);
+                    all.put(country);
+                    parts[(copy * sample.length() + i) % FILES].put(country);
+                }
+            }
+            Files.writeString(single, all.toString());
+            for (int i = 0; i < FILES; i++) {
+                Files.writeString(directory.resolve(String.format("part-%02d.json", i)), parts[i].toString());
+            }
+
+            System.out.println(all.length() + " countries, " + FILES + " files, "
+                    + Runtime.getRuntime().availableProcessors() + " cores");
+            JSONTranslatorLoader sequential = new JSONTranslatorLoader(new ForkJoinPool(1),
+                    JSONTranslatorLoader.ConflictPolicy.LAST_WINS);
+            JSONTranslatorLoader parallel = new JSONTranslatorLoader();
+
+            time("sequential, single file", () -> loadSingleFile(single));
+            time("sequential, split files", () -> sequential.loadDirectory(directory));
+            time("parallel, split files", () -> parallel.loadDirectory(directory));
+        }
+        finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+            Files.delete(single);
+        }
+    }
+
+    private static JSONTranslator loadSingleFile(Path file) {
+        try {
+            return new JSONTranslator(JSONTranslator.parseJSONData(new JSONArray(Files.readString(file))));
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void time(String label, Runnable load) {
+        for (int i = 0; i < WARMUP; i++) {
+            load.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            load.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-25s %8.1f ms%n", label, best / 1_000_000.0);
+    }
+}
@@ -0,0 +1,89 @@
+package org.translation;
+
+import org.json.JSONArray;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class JSONTranslatorLoaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path write(String name, String json) throws IOException {
+        return Files.writeString(folder.getRoot().toPath().resolve(name), json);
+    }
+
+    @Test
+    public void loadDirectoryLastWins() throws IOException {
+        write("a.json", "[{\"alpha3\":\"can\",\"en\":\"Canada\",\"fr\":\"Canada\"}]");
+        write("b.json", "[{\"alpha3\":\"CAN\",\"fr\":\"Le Canada\"},{\"alpha3\":\"fra\",\"en\":\"France\"}]");
+        write("ignored.txt", "not json");
+
+        JSONTranslator translator = new JSONTranslatorLoader().loadDirectory(folder.getRoot().toPath());
+        assertEquals(2, translator.getCountries().size());
+        assertEquals("Canada", translator.translate("can", "en"));
+        assertEquals("Le Canada", translator.translate("can", "fr"));
+        assertEquals("France", translator.translate("fra", "en"));
+    }
+
+    @Test
+    public void loadDirectoryOrdersNamesCaseSensitively() throws IOException {
+        // Uppercase sorts before lowercase, so the last file is "a.json"
+        write("a.json", "[{\"alpha3\":\"can\",\"fr\":\"Canada\"}]");
+        write("B.json", "[{\"alpha3\":\"can\",\"fr\":\"Le Canada\"}]");
+
+        JSONTranslator translator = new JSONTranslatorLoader().loadDirectory(folder.getRoot().toPath());
+        assertEquals("Canada", translator.translate("can", "fr"));
+    }
+
+    @Test
+    public void loadFirstWins() throws IOException {
+        Path high = write("high.json", "[{\"alpha3\":\"can\",\"fr\":\"Canada\"}]");
+        Path low = write("low.json", "[{\"alpha3\":\"can\",\"fr\":\"Le Canada\",\"en\":\"Canada\"}]");
+
+        JSONTranslatorLoader loader = new JSONTranslatorLoader(ForkJoinPool.commonPool(),
+                JSONTranslatorLoader.ConflictPolicy.FIRST_WINS);
+        JSONTranslator translator = loader.load(List.of(high, low));
+        assertEquals("Canada", translator.translate("can", "fr"));
+        assertEquals("Canada", translator.translate("can", "en"));
+    }
+
+    @Test
+    public void loadDirectoryWithGlob() throws IOException {
+        write("team-a.json", "[{\"alpha3\":\"can\",\"en\":\"Canada\"}]");
+        write("other.json", "[{\"alpha3\":\"fra\",\"en\":\"France\"}]");
+
+        JSONTranslator translator = new JSONTranslatorLoader().loadDirectory(folder.getRoot().toPath(), "team-*.json");
+        assertEquals(List.of("can"), translator.getCountries());
+    }
+
+    @Test
+    public void loadSplitSampleMatchesSingleFile() throws Exception {
+        JSONArray sample = new JSONArray(Files.readString(
+                Paths.get(getClass().getClassLoader().getResource("sample.json").toURI())));
+        int files = 7;
+        for (int part = 0; part < files; part++) {
+            JSONArray slice = new JSONArray();
+            for (int i = part; i < sample.length(); i += files) {
+                slice.put(sample.getJSONObject(i));
+            }
+            write(String.format("part-%02d.json", part), slice.toString());
+        }
+
+        JSONTranslator merged = new JSONTranslatorLoader().loadDirectory(folder.getRoot().toPath());
+        JSONTranslator single = new JSONTranslator();
+        assertEquals(193, merged.getCountries().size());
+        assertEquals(single.getCountryLanguages("can").size(), merged.getCountryLanguages("can").size());
+        assertEquals(single.translate("deu", "ja"), merged.translate("deu", "ja"));
+    }
+}
@@ -17,4 +17,10 @@ public class LanguageCodeConverterTest {
         LanguageCodeConverter converter = new LanguageCodeConverter();
         assertEquals(184, converter.getNumLanguages());
     }
+
+    @Test
+    public void suggestLanguagesForTypo() {
+        LanguageCodeConverter converter = new LanguageCodeConverter();
+        assertEquals("en", converter.suggestLanguages("Englsh", 1).get(0).getValue());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package org.translation;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures how many bytes an operation allocates and how long it takes, per call, on the current thread.
+ * Time budgets can be relaxed on slow machines with -Dperf.timeScale=N. Measurements are only printed
+ * with -Dperf.report=true, which the perf profile sets.
+ */
+final class OperationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final double STRAY_BYTES_PER_OPERATION = 0.1;
+    private static final double TIME_SCALE = Double.parseDouble(System.getProperty("perf.timeScale", "1"));
+    private static final boolean REPORT = Boolean.getBoolean("perf.report");
+
+    private final String name;
+    private final long operations;
+    private final long allocatedBytes;
+    private final long elapsedNanos;
+
+    private OperationMeter(String name, long operations, long allocatedBytes, long elapsedNanos) {
+        this.name = name;
+        this.operations = operations;
+        this.allocatedBytes = allocatedBytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Runs the operation warmup times, then measures it over the given number of operations.
+     */
+    static OperationMeter measure(String name, int warmup, int operations, Runnable operation) {
+        for (int i = 0; i < warmup; i++) {
+            operation.run();
+        }
+        long overhead = THREADS.getCurrentThreadAllocatedBytes();
+        overhead = THREADS.getCurrentThreadAllocatedBytes() - overhead;
+
+        long bytesBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            operation.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = Math.max(0, THREADS.getCurrentThreadAllocatedBytes() - bytesBefore - overhead);
+        OperationMeter meter = new OperationMeter(name, operations, allocated, elapsed);
+        if (REPORT) {
+            System.out.println(meter);
+        }
+        return meter;
+    }
+
+    double bytesPerOperation() {
+        return (double) allocatedBytes / operations;
+    }
+
+    double nanosPerOperation() {
+        return (double) elapsedNanos / operations;
+    }
+
+    /**
+     * Fails if the operation allocated more bytes per call than allowed.
+     */
+    OperationMeter assertBytesPerOperation(double budget) {
+        assertTrue(name + " allocated " + bytesPerOperation() + " bytes per operation, budget is " + budget,
+                bytesPerOperation() <= budget);
+        return this;
+    }
+
+    /**
+     * Fails if the operation allocates per call. A fraction of a byte per call is tolerated, since class
+     * loading or compilation during the measurement can allocate a few bytes once.
+     */
+    OperationMeter assertNoAllocation() {
+        assertTrue(name + " allocated " + bytesPerOperation() + " bytes per operation, budget is none",
+                bytesPerOperation() < STRAY_BYTES_PER_OPERATION);
+        return this;
+    }
+
+    /**
+     * Fails if the operation took longer per call than allowed, after scaling by perf.timeScale.
+     */
+    OperationMeter assertNanosPerOperation(double budget) {
+        double scaled = budget * TIME_SCALE;
+        assertTrue(name + " took " + nanosPerOperation() + " ns per operation, budget is " + scaled,
+                nanosPerOperation() <= scaled);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-45s %10d ops %14.1f ns/op %12.1f B/op", name, operations,
+                nanosPerOperation(), bytesPerOperation());
+    }
+}
@@ -0,0 +1,110 @@
+package org.translation;
+
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+public class SortedTablePerfTest {
+
+    @ClassRule
+    public static TemporaryFolder folder = new TemporaryFolder();
+
+    private static final int SMALL_PLACES = 10_000;
+    private static final int PLACES = 100_000;
+    private static final String[] LANGUAGES = {"de", "en", "es", "fr", "ja"};
+    private static final int WARMUP = 20_000;
+    private static final int OPERATIONS = 200_000;
+    // Opening allocates about 75 bytes of sparse index per 4 KB block
+    private static final int DISK_BYTES_PER_HEAP_BYTE = 32;
+
+    private static Path smallTable;
+    private static Path table;
+    private static String[] places;
+
+    private int sink;
+
+    @BeforeClass
+    public static void buildGazetteers() throws Exception {
+        places = new String[PLACES];
+        for (int i = 0; i < PLACES; i++) {
+            places[i] = String.format("place-%06d", i);
+        }
+        smallTable = build(SMALL_PLACES, "small.table");
+        table = build(PLACES, "gazetteer.table");
+    }
+
+    private static Path build(int count, String name) throws Exception {
+        SortedTableBuilder builder = new SortedTableBuilder(folder.getRoot().toPath(), 8_000_000);
+        for (int i = 0; i < count; i++) {
+            for (String language : LANGUAGES) {
+                builder.add(places[i], language, "Place " + i + " (" + language + ")");
+            }
+        }
+        Path file = folder.newFile(name).toPath();
+        builder.build(file);
+        return file;
+    }
+
+    @Test
+    public void openingKeepsTheHeapFlat() throws Exception {
+        OperationMeter small = OperationMeter.measure("SortedTableTranslator open " + SMALL_PLACES * LANGUAGES.length
+                + " entries", 2, 10, () -> sink += new SortedTableTranslator(smallTable).getNumCountries());
+        OperationMeter large = OperationMeter.measure("SortedTableTranslator open " + PLACES * LANGUAGES.length
+                + " entries", 2, 10, () -> sink += new SortedTableTranslator(table).getNumCountries());
+        large.assertNanosPerOperation(100_000_000);
+
+        // Ten times the entries may only add the sparse index, a small fraction of the extra data on disk
+        long extraDisk = Files.size(table) - Files.size(smallTable);
+        double extraHeap = large.bytesPerOperation() - small.bytesPerOperation();
+        assertTrue("Opening " + extraDisk + " more bytes of table allocated " + extraHeap + " more bytes",
+                extraHeap <= (double) extraDisk / DISK_BYTES_PER_HEAP_BYTE);
+        large.assertBytesPerOperation((double) Files.size(table) / DISK_BYTES_PER_HEAP_BYTE);
+    }
+
+    @Test
+    public void lookupsStayWithinBudget() {
+        SortedTableTranslator translator = new SortedTableTranslator(table);
+        assertEquals((long) PLACES * LANGUAGES.length, translator.getEntryCount());
+        int[] next = new int[1];
+        // Most random keys miss the block cache, so their block layout is decoded again
+        OperationMeter.measure("SortedTableTranslator.translate random keys", WARMUP, OPERATIONS, () -> {
+            next[0] = (next[0] + 7919) % PLACES;
+            sink += translator.translate(places[next[0]], "fr").length();
+        })
+                .assertBytesPerOperation(1_024)
+                .assertNanosPerOperation(10_000);
+        String key = "place-012345";
+        // Encoding the key and decoding the name are the only allocations
+        OperationMeter.measure("SortedTableTranslator.translate same key", WARMUP, OPERATIONS,
+                () -> sink += translator.translate(key, "fr").length())
+                .assertBytesPerOperation(256)
+                .assertNanosPerOperation(5_000);
+        OperationMeter.measure("SortedTableTranslator.getCountryLanguages", WARMUP, OPERATIONS,
+                () -> sink += translator.getCountryLanguages(key).size())
+                .assertBytesPerOperation(1_024)
+                .assertNanosPerOperation(10_000);
+    }
+
+    @Test
+    public void fullScanStaysWithinBudget() {
+        SortedTableTranslator translator = new SortedTableTranslator(table);
+        TranslationVisitor visitor = (country, language, name) -> sink++;
+        OperationMeter.measure("SortedTableTranslator.forEachTranslation", 1, 5,
+                () -> translator.forEachTranslation(visitor))
+                .assertNanosPerOperation(2_000_000_000);
+        OperationMeter.measure("SortedTableTranslator.translations", 1, 5, () -> {
+            Iterator<TranslationRecord> cursor = translator.translations();
+            while (cursor.hasNext()) {
+                sink += cursor.next().getName().length();
+            }
+        })
+                .assertNanosPerOperation(2_000_000_000);
+    }
+}
@@ -0,0 +1,189 @@
+package org.translation;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SortedTableTranslatorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Reader resource(String name) throws Exception {
+        return Files.newBufferedReader(Paths.get(getClass().getClassLoader().getResource(name).toURI()));
+    }
+
+    private SortedTableTranslator buildSample(long runBytes) throws Exception {
+        Path table = folder.newFile().toPath();
+        try (SortedTableBuilder builder = new SortedTableBuilder(folder.getRoot().toPath(), runBytes);
+             Reader reader = resource("sample.json")) {
+            builder.addJSON(reader);
+            builder.build(table);
+        }
+        return new SortedTableTranslator(table);
+    }
+
+    @Test
+    public void matchesJSONTranslator() throws Exception {
+        JSONTranslator expected = new JSONTranslator();
+        SortedTableTranslator translator = buildSample(64_000);
+
+        assertEquals(expected.getCountries(), translator.getCountries());
+        assertEquals(193, translator.getNumCountries());
+        assertEquals(35, translator.getCountryLanguages("can").size());
+        assertEquals(expected.countryLanguages("can"), translator.getCountryLanguages("CAN"));
+        expected.forEachTranslation((country, language, name) ->
+                assertEquals(name, translator.translate(country, language)));
+        assertNull(translator.translate("can", "xx"));
+        assertNull(translator.translate("aaa", "en"));
+        assertNull(translator.translate("zzz", "en"));
+        assertTrue(translator.getCountryLanguages("zzz").isEmpty());
+    }
+
+    @Test
+    public void forEachTranslationVisitsEveryEntryInOrder() throws Exception {
+        SortedTableTranslator translator = buildSample(SortedTableBuilder.DEFAULT_RUN_BYTES);
+        long[] visited = new long[1];
+        String[] previous = {""};
+        translator.forEachTranslation((country, language, name) -> {
+            String key = country + "\0" + language;
+            assertTrue(key.compareTo(previous[0]) > 0);
+            previous[0] = key;
+            visited[0]++;
+        });
+        assertEquals(translator.getEntryCount(), visited[0]);
+    }
+
+    @Test
+    public void translationsCursorMatchesForEachTranslation() throws Exception {
+        SortedTableTranslator translator = buildSample(64_000);
+        List<String> visited = new ArrayList<>();
+        translator.forEachTranslation((country, language, name) -> visited.add(country + "/" + language + "/" + name));
+        List<String> walked = new ArrayList<>();
+        Iterator<TranslationRecord> cursor = translator.translations();
+        while (cursor.hasNext()) {
+            TranslationRecord record = cursor.next();
+            walked.add(record.getCountry() + "/" + record.getLanguage() + "/" + record.getName());
+        }
+        assertEquals(visited, walked);
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    public void scansBypassTheBlockCache() throws Exception {
+        SortedTableTranslator translator = buildSample(64_000);
+        assertEquals("Canada", translator.translate("can", "en"));
+        assertEquals(1, translator.getCachedBlockCount());
+
+        long[] visited = new long[1];
+        translator.forEachTranslation((country, language, name) -> visited[0]++);
+        Iterator<TranslationRecord> cursor = translator.translations();
+        while (cursor.hasNext()) {
+            cursor.next();
+            visited[0]++;
+        }
+        assertEquals(193, translator.getCountries().size());
+        assertEquals(2 * translator.getEntryCount(), visited[0]);
+        assertEquals(1, translator.getCachedBlockCount());
+    }
+
+    @Test
+    public void loadsCodeListsAndTSV() throws Exception {
+        SortedTableBuilder builder = new SortedTableBuilder(folder.getRoot().toPath(), 8_000);
+        try (Reader reader = resource("country-codes.txt")) {
+            builder.addCodeList(reader, 2, "en");
+        }
+        builder.addTSV(new StringReader("can-on\ten\tOntario\ncan-on\tfr\tOntario\ncan-qc\tfr\tQuébec\nbad line\n"));
+        Path table = folder.newFile().toPath();
+        builder.build(table);
+
+        SortedTableTranslator translator = new SortedTableTranslator(table);
+        assertEquals(251, translator.getNumCountries());
+        assertEquals("United States of America (the)", translator.translate("usa", "en"));
+        assertEquals("Québec", translator.translate("can-qc", "fr"));
+        assertEquals(List.of("en", "fr"), translator.getCountryLanguages("can-on"));
+    }
+
+    @Test
+    public void externalSortKeepsLastDuplicate() throws Exception {
+        SortedTableBuilder builder = new SortedTableBuilder(folder.getRoot().toPath(), 600);
+        int cities = 5_000;
+        for (int i = cities - 1; i >= 0; i--) {
+            builder.add(String.format("city-%05d", i), "en", "City " + i);
+            builder.add(String.format("city-%05d", i), "de", "Stadt " + i);
+        }
+        builder.add("city-00042", "en", "Renamed");
+        Path table = folder.newFile().toPath();
+        builder.build(table);
+
+        SortedTableTranslator translator = new SortedTableTranslator(table);
+        assertEquals(2L * cities, translator.getEntryCount());
+        assertEquals(cities, translator.getNumCountries());
+        assertEquals("Renamed", translator.translate("city-00042", "en"));
+        assertEquals("Stadt 4999", translator.translate("city-04999", "de"));
+        assertEquals("City 0", translator.translate("city-00000", "en"));
+        assertEquals(List.of("de", "en"), translator.getCountryLanguages("city-02500"));
+        assertEquals(0, runFileCount());
+    }
+
+    @Test
+    public void closeDeletesRunsOfAbandonedBuild() throws Exception {
+        String tooLong = "x".repeat(SortedTableWriter.MAX_FIELD_LENGTH + 1);
+        try (SortedTableBuilder builder = new SortedTableBuilder(folder.getRoot().toPath(), 1_000)) {
+            for (int i = 0; i < 100; i++) {
+                builder.add(String.format("city-%05d", i), "en", "City " + i);
+            }
+            assertTrue(runFileCount() > 0);
+            builder.add("city-99999", "en", tooLong);
+            fail("A name longer than the format allows must be rejected");
+        }
+        catch (IllegalArgumentException expected) {
+            assertEquals(0, runFileCount());
+        }
+    }
+
+    @Test
+    public void runsAreBoundedByBytes() throws Exception {
+        String longName = "x".repeat(SortedTableWriter.MAX_FIELD_LENGTH);
+        try (SortedTableBuilder builder = new SortedTableBuilder(folder.getRoot().toPath(), 200_000)) {
+            for (int i = 0; i < 10; i++) {
+                builder.add(String.format("city-%05d", i), "en", longName);
+            }
+            // Each run holds at most four of the 64 KB names
+            assertTrue(runFileCount() >= 2);
+        }
+    }
+
+    private int runFileCount() {
+        return folder.getRoot().list((dir, name) -> name.endsWith(".bin")).length;
+    }
+
+    @Test
+    public void emptyTable() throws Exception {
+        Path table = folder.newFile().toPath();
+        new SortedTableBuilder(folder.getRoot().toPath(), 1_000).build(table);
+        SortedTableTranslator translator = new SortedTableTranslator(table);
+        assertTrue(translator.getCountries().isEmpty());
+        assertNull(translator.translate("can", "en"));
+        assertTrue(translator.getCountryLanguages("can").isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsOtherFiles() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.writeString(file, "this is not a sorted table at all, just text");
+        new SortedTableTranslator(file);
+    }
+}
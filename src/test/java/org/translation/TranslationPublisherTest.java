@@ -0,0 +1,143 @@
+package org.translation;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.junit.Assert.*;
+
+public class TranslationPublisherTest {
+
+    /**
+     * Records everything it receives and only requests more when told to.
+     */
+    private static class ManualSubscriber implements Flow.Subscriber<TranslationRecord> {
+        private final List<TranslationRecord> records = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private long outstanding;
+        private boolean completed;
+        private Throwable error;
+
+        void request(long n) {
+            outstanding += n;
+            subscription.request(n);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription newSubscription) {
+            subscription = newSubscription;
+        }
+
+        @Override
+        public void onNext(TranslationRecord record) {
+            assertTrue("Received a record which was not requested", outstanding > 0);
+            outstanding--;
+            records.add(record);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    @Test
+    public void publishesOnlyWhatIsRequested() {
+        ManualSubscriber subscriber = new ManualSubscriber();
+        new TranslationPublisher(new InLabByHandTranslator()).subscribe(subscriber);
+        assertTrue(subscriber.records.isEmpty());
+
+        subscriber.request(2);
+        assertEquals(2, subscriber.records.size());
+        assertFalse(subscriber.completed);
+
+        subscriber.request(Long.MAX_VALUE);
+        assertEquals(5, subscriber.records.size());
+        assertTrue(subscriber.completed);
+        assertEquals("Kanada", subscriber.records.get(0).getName());
+    }
+
+    @Test
+    public void publishesEveryTranslation() {
+        JSONTranslator translator = new JSONTranslator();
+        ManualSubscriber subscriber = new ManualSubscriber();
+        new TranslationPublisher(translator).subscribe(subscriber);
+        while (!subscriber.completed) {
+            subscriber.request(100);
+        }
+
+        int expected = 0;
+        for (String country : translator.getCountries()) {
+            expected += translator.getCountryLanguages(country).size();
+        }
+        assertEquals(expected, subscriber.records.size());
+        TranslationRecord record = subscriber.records.get(0);
+        assertEquals(translator.translate(record.getCountry(), record.getLanguage()), record.getName());
+    }
+
+    @Test
+    public void completesWhenExactlyAllRecordsAreRequested() {
+        Translator translator = new InLabByHandTranslator();
+        int records = translator.getNumCountries() * translator.getNumCountryLanguages(InLabByHandTranslator.CANADA);
+        ManualSubscriber subscriber = new ManualSubscriber();
+        new TranslationPublisher(translator).subscribe(subscriber);
+        subscriber.request(records);
+        assertEquals(records, subscriber.records.size());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void looksUpLanguagesOncePerCountry() {
+        JSONTranslator translator = new JSONTranslator();
+        int[] lookups = new int[1];
+        Translator counting = new Translator() {
+            @Override
+            public List<String> getCountryLanguages(String country) {
+                lookups[0]++;
+                return translator.getCountryLanguages(country);
+            }
+
+            @Override
+            public List<String> getCountries() {
+                return translator.getCountries();
+            }
+
+            @Override
+            public String translate(String country, String language) {
+                return translator.translate(country, language);
+            }
+        };
+        ManualSubscriber subscriber = new ManualSubscriber();
+        new TranslationPublisher(counting).subscribe(subscriber);
+        while (!subscriber.completed) {
+            subscriber.request(7);
+        }
+        assertEquals(translator.getNumCountries(), lookups[0]);
+    }
+
+    @Test
+    public void cancelStopsPublishing() {
+        ManualSubscriber subscriber = new ManualSubscriber();
+        new TranslationPublisher(new JSONTranslator()).subscribe(subscriber);
+        subscriber.request(3);
+        subscriber.subscription.cancel();
+        subscriber.request(10);
+        assertEquals(3, subscriber.records.size());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    public void nonPositiveRequestFails() {
+        ManualSubscriber subscriber = new ManualSubscriber();
+        new TranslationPublisher(new InLabByHandTranslator()).subscribe(subscriber);
+        subscriber.subscription.request(0);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+    }
+}
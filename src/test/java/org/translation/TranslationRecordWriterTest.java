@@ -0,0 +1,74 @@
+package org.translation;
+
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class TranslationRecordWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<String> export(Translator translator, boolean csv) throws Exception {
+        Path file = folder.newFile().toPath();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            TranslationRecordWriter writer;
+            if (csv) {
+                writer = new CsvTranslationWriter(channel);
+            }
+            else {
+                writer = new NDJSONTranslationWriter(channel);
+            }
+            new TranslationPublisher(translator).subscribe(writer);
+            writer.getResult().get();
+        }
+        return Files.readAllLines(file);
+    }
+
+    @Test
+    public void writesCsv() throws Exception {
+        List<String> lines = export(new InLabByHandTranslator(), true);
+        assertEquals(6, lines.size());
+        assertEquals("country,language,name", lines.get(0));
+        assertEquals("can,zh,加拿大", lines.get(3));
+    }
+
+    @Test
+    public void quotesCsvFields() throws Exception {
+        Translator translator = new JSONTranslator(Map.of("xyz", Map.of("en", "Korea, \"North\"")));
+        List<String> lines = export(translator, true);
+        assertEquals("xyz,en,\"Korea, \"\"North\"\"\"", lines.get(1));
+    }
+
+    @Test
+    public void writesNewlineDelimitedJson() throws Exception {
+        List<String> lines = export(new InLabByHandTranslator(), false);
+        assertEquals(5, lines.size());
+        JSONObject first = new JSONObject(lines.get(0));
+        assertEquals("can", first.getString("country"));
+        assertEquals("de", first.getString("language"));
+        assertEquals("Kanada", first.getString("name"));
+    }
+
+    @Test
+    public void writesWholeDatasetInBatches() throws Exception {
+        JSONTranslator translator = new JSONTranslator();
+        List<String> lines = export(translator, false);
+        int expected = 0;
+        for (String country : translator.countries()) {
+            expected += translator.getNumCountryLanguages(country);
+        }
+        assertTrue(expected > TranslationRecordWriter.BATCH_SIZE);
+        assertEquals(expected, lines.size());
+    }
+}
@@ -0,0 +1,70 @@
+package org.translation;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TranslatorEnumerationTest {
+
+    private static final int WARMUP = 2_000;
+    private static final int RUNS = 200;
+
+    private final JSONTranslator jsonTranslator = new JSONTranslator();
+    private final InLabByHandTranslator byHandTranslator = new InLabByHandTranslator();
+
+    private int visited;
+
+    @Test
+    public void viewsAreCachedAndUnmodifiable() {
+        assertSame(jsonTranslator.countries(), jsonTranslator.countries());
+        assertSame(jsonTranslator.countryLanguages("can"), jsonTranslator.countryLanguages("CAN"));
+        assertSame(byHandTranslator.countries(), byHandTranslator.countries());
+        assertThrows(UnsupportedOperationException.class, () -> jsonTranslator.countries().add("xyz"));
+        assertTrue(jsonTranslator.countryLanguages("xyz").isEmpty());
+    }
+
+    @Test
+    public void countsMatchCopies() {
+        assertEquals(193, jsonTranslator.getNumCountries());
+        assertEquals(35, jsonTranslator.getNumCountryLanguages("can"));
+        assertEquals(1, byHandTranslator.getNumCountries());
+        assertEquals(5, byHandTranslator.getNumCountryLanguages(InLabByHandTranslator.CANADA));
+    }
+
+    @Test
+    public void forEachTranslationVisitsEveryTranslation() {
+        int expected = 0;
+        for (String country : jsonTranslator.getCountries()) {
+            expected += jsonTranslator.getCountryLanguages(country).size();
+        }
+        visited = 0;
+        jsonTranslator.forEachTranslation((country, language, translation) -> {
+            assertEquals(jsonTranslator.translate(country, language), translation);
+            visited++;
+        });
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    public void enumerationDoesNotAllocate() {
+        measureEnumeration(jsonTranslator).assertNoAllocation();
+        measureEnumeration(byHandTranslator).assertNoAllocation();
+    }
+
+    private OperationMeter measureEnumeration(Translator translator) {
+        TranslationVisitor visitor = (country, language, translation) -> visited++;
+        return OperationMeter.measure(translator.getClass().getSimpleName() + " enumeration", WARMUP, RUNS,
+                () -> enumerate(translator, visitor));
+    }
+
+    private void enumerate(Translator translator, TranslationVisitor visitor) {
+        List<String> countries = translator.countries();
+        for (int i = 0; i < countries.size(); i++) {
+            visited += translator.getNumCountryLanguages(countries.get(i));
+        }
+        visited += translator.getNumCountries();
+        translator.forEachTranslation(visitor);
+    }
+}
@@ -0,0 +1,103 @@
+package org.translation;
+
+import org.json.JSONArray;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TranslatorPerfTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int OPERATIONS = 200_000;
+    private static final int LOAD_WARMUP = 5;
+    private static final int LOADS = 20;
+
+    private int sink;
+
+    private List<Translator> translators() {
+        return List.of(new JSONTranslator(), new InLabByHandTranslator());
+    }
+
+    private String sample() throws Exception {
+        return Files.readString(Paths.get(getClass().getClassLoader().getResource("sample.json").toURI()));
+    }
+
+    @Test
+    public void translateDoesNotAllocate() {
+        for (Translator translator : translators()) {
+            OperationMeter.measure(translator.getClass().getSimpleName() + ".translate", WARMUP, OPERATIONS,
+                    () -> sink += translator.translate("can", "fr").length())
+                    .assertNoAllocation()
+                    .assertNanosPerOperation(2_000);
+        }
+    }
+
+    @Test
+    public void missingTranslationDoesNotAllocate() {
+        for (Translator translator : translators()) {
+            OperationMeter.measure(translator.getClass().getSimpleName() + ".translate missing", WARMUP, OPERATIONS,
+                    () -> {
+                        if (translator.translate("xyz", "fr") == null) {
+                            sink++;
+                        }
+                    })
+                    .assertNoAllocation()
+                    .assertNanosPerOperation(2_000);
+        }
+    }
+
+    @Test
+    public void viewsDoNotAllocate() {
+        for (Translator translator : translators()) {
+            OperationMeter.measure(translator.getClass().getSimpleName() + " views", WARMUP, OPERATIONS,
+                    () -> sink += translator.countries().size() + translator.countryLanguages("can").size()
+                            + translator.getNumCountryLanguages("can"))
+                    .assertNoAllocation()
+                    .assertNanosPerOperation(2_000);
+        }
+    }
+
+    @Test
+    public void fullEnumerationDoesNotAllocate() {
+        TranslationVisitor visitor = (country, language, translation) -> sink++;
+        for (Translator translator : translators()) {
+            OperationMeter.measure(translator.getClass().getSimpleName() + ".forEachTranslation", 200, 2_000,
+                    () -> translator.forEachTranslation(visitor))
+                    .assertNoAllocation()
+                    .assertNanosPerOperation(2_000_000);
+        }
+    }
+
+    @Test
+    public void copyingGettersStayProportional() {
+        JSONTranslator translator = new JSONTranslator();
+        OperationMeter.measure("JSONTranslator.getCountries", WARMUP, OPERATIONS / 10,
+                () -> sink += translator.getCountries().size())
+                .assertBytesPerOperation(2_048)
+                .assertNanosPerOperation(20_000);
+    }
+
+    @Test
+    public void parsingStaysWithinBudget() throws Exception {
+        String json = sample();
+        OperationMeter.measure("JSONTranslator parse sample.json", LOAD_WARMUP, LOADS,
+                () -> sink += new TranslationTable(JSONTranslator.parseJSONData(new JSONArray(json)))
+                        .countries().size())
+                .assertBytesPerOperation(8_000_000)
+                .assertNanosPerOperation(100_000_000);
+    }
+
+    @Test
+    public void sharedLoadStaysWithinBudget() {
+        JSONTranslator held = new JSONTranslator();
+        OperationMeter.measure("new JSONTranslator() while shared", LOAD_WARMUP, LOADS,
+                () -> sink += new JSONTranslator().getNumCountries())
+                .assertBytesPerOperation(16_000)
+                .assertNanosPerOperation(2_000_000);
+        assertEquals(193, held.getNumCountries());
+    }
+}